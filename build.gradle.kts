@@ -2,6 +2,15 @@ plugins {
     java
     id("org.springframework.boot") version "3.0.6"
     id("io.spring.dependency-management") version "1.1.0"
+    id("org.graalvm.buildtools.native") version "0.9.20" apply false
+}
+
+/**
+ * -Paot runs Spring AOT processing: bootJar gets pre-computed bean definitions (start it with
+ * -Dspring.aot.enabled=true) and nativeCompile builds a GraalVM native image
+ */
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "faang.school"
@@ -21,7 +30,11 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.0.2")
+    implementation("io.github.resilience4j:resilience4j-circuitbreaker:2.0.2")
+    implementation("io.github.resilience4j:resilience4j-bulkhead:2.0.2")
+    implementation("io.github.resilience4j:resilience4j-micrometer:2.0.2")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
     /**
@@ -29,16 +42,19 @@ dependencies {
      */
     implementation("org.liquibase:liquibase-core")
     implementation("redis.clients:jedis:4.3.2")
+    implementation("net.ttddyy:datasource-proxy:1.9")
     runtimeOnly("org.postgresql:postgresql")
 
     /**
      * Utils & Logging
      */
     implementation("com.fasterxml.jackson.core:jackson-databind:2.14.2")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
     implementation("org.slf4j:slf4j-api:2.0.5")
     implementation("ch.qos.logback:logback-classic:1.4.6")
     implementation("org.projectlombok:lombok:1.18.26")
     annotationProcessor("org.projectlombok:lombok:1.18.26")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.mapstruct:mapstruct:1.5.3.Final")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.5.3.Final")
 
@@ -62,7 +78,24 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
-val test by tasks.getting(Test::class) { testLogging.showStandardStreams = true }
+val test by tasks.getting(Test::class) {
+    testLogging.showStandardStreams = true
+    useJUnitPlatform { excludeTags("jdk21") }
+}
+
+/**
+ * Bytecode stays at 17, but virtual threads only exist at runtime on JDK 21, which the Docker image runs
+ */
+val virtualThreadTest by tasks.registering(Test::class) {
+    description = "Runs tests tagged jdk21 on a JDK 21 toolchain"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    useJUnitPlatform { includeTags("jdk21") }
+}
+
+tasks.check { dependsOn(virtualThreadTest) }
 
 tasks.bootJar {
     archiveFileName.set("service.jar")
@@ -0,0 +1,45 @@
+plugins {
+    java
+    application
+}
+
+group = "faang.school"
+version = "1.0"
+java.sourceCompatibility = JavaVersion.VERSION_17
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    /**
+     * Infrastructure for the service under test
+     */
+    implementation(platform("org.testcontainers:testcontainers-bom:1.17.6"))
+    implementation("org.testcontainers:postgresql")
+    implementation("com.redis.testcontainers:testcontainers-redis-junit-jupiter:1.4.6")
+
+    /**
+     * Measurement & Utils
+     */
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.14.2")
+    implementation("org.slf4j:slf4j-simple:2.0.5")
+}
+
+application {
+    mainClass.set("faang.school.postservice.loadtest.LoadTest")
+}
+
+/**
+ * ./gradlew :loadtest:run -Ploadtest.rate=300 -Ploadtest.duration=2m
+ * Every -Ploadtest.* property is passed on to the harness, see LoadTestOptions.
+ */
+tasks.named<JavaExec>("run") {
+    dependsOn(":bootJar")
+    systemProperty("loadtest.serviceJar", rootProject.layout.buildDirectory.file("libs/service.jar").get().asFile.absolutePath)
+    systemProperty("loadtest.outputDir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
@@ -0,0 +1,161 @@
+package faang.school.postservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * In-process stand-ins for user-service, project-service and payment-service, serving just the endpoints
+ * the Feign clients call, with the latency and failures of {@link LoadTestOptions.StubBehaviour}.
+ */
+public class DownstreamStubs implements AutoCloseable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer userService;
+    private HttpServer projectService;
+    private HttpServer paymentService;
+
+    public void start(LoadTestOptions options) throws IOException {
+        userService = server();
+        userService.createContext("/users", exchange -> handle(exchange, options.userService(), () -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                return lookupAll(exchange, this::user);
+            }
+            return user(lastPathSegment(exchange));
+        }));
+
+        projectService = server();
+        projectService.createContext("/project/", exchange -> handle(exchange, options.projectService(),
+                () -> project(lastPathSegment(exchange))));
+        projectService.createContext("/projects", exchange -> handle(exchange, options.projectService(),
+                () -> lookupAll(exchange, this::project)));
+
+        paymentService = server();
+        paymentService.createContext("/api/payment", exchange -> handle(exchange, options.paymentService(), () -> {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", "SUCCESS");
+            response.put("verificationCode", ThreadLocalRandom.current().nextInt(1000, 10000));
+            response.put("paymentNumber", request.path("paymentNumber").asLong());
+            response.put("amount", request.path("amount").decimalValue());
+            response.put("currency", request.path("currency").asText());
+            response.put("message", "Payment accepted");
+            return response;
+        }));
+
+        servers.forEach(HttpServer::start);
+    }
+
+    public int userServicePort() {
+        return userService.getAddress().getPort();
+    }
+
+    public int projectServicePort() {
+        return projectService.getAddress().getPort();
+    }
+
+    public int paymentServicePort() {
+        return paymentService.getAddress().getPort();
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        servers.forEach(server -> server.stop(0));
+        executor.shutdownNow();
+    }
+
+    private HttpServer server() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        server.setExecutor(executor);
+        servers.add(server);
+        return server;
+    }
+
+    private void handle(HttpExchange exchange, LoadTestOptions.StubBehaviour behaviour, Body body) throws IOException {
+        calls.incrementAndGet();
+        try (exchange) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delayMillis = random.nextDouble() < behaviour.slowRate()
+                    ? behaviour.slowLatency().toMillis()
+                    : behaviour.latency().toMillis() + (long) (behaviour.jitter().toMillis() * random.nextExponential());
+            sleep(delayMillis);
+
+            if (random.nextDouble() < behaviour.errorRate()) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] bytes = objectMapper.writeValueAsBytes(body.get());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (RuntimeException e) {
+            exchange.sendResponseHeaders(500, -1);
+        }
+    }
+
+    private List<Object> lookupAll(HttpExchange exchange, LongFunction<Object> lookup) throws IOException {
+        List<Object> result = new ArrayList<>();
+        for (JsonNode id : objectMapper.readTree(exchange.getRequestBody())) {
+            result.add(lookup.apply(id.asLong()));
+        }
+        return result;
+    }
+
+    private Object user(long id) {
+        return Map.of("id", id, "username", "user" + id, "email", "user" + id + "@example.com");
+    }
+
+    private Object project(long id) {
+        return Map.of("id", id, "title", "project" + id);
+    }
+
+    private static long lastPathSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        Object get() throws IOException;
+    }
+}
@@ -0,0 +1,44 @@
+package faang.school.postservice.loadtest;
+
+import com.redis.testcontainers.RedisContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Postgres and Redis in containers, set up like {@code BaseContextTest} does for the integration tests.
+ */
+public class Infrastructure implements AutoCloseable {
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13.6");
+    private final RedisContainer redis = new RedisContainer(DockerImageName.parse("redis/redis-stack:latest"));
+
+    public void start() {
+        postgres.start();
+        redis.start();
+    }
+
+    public String jdbcUrl() {
+        return postgres.getJdbcUrl() + "&reWriteBatchedInserts=true";
+    }
+
+    public String username() {
+        return postgres.getUsername();
+    }
+
+    public String password() {
+        return postgres.getPassword();
+    }
+
+    public String redisHost() {
+        return redis.getHost();
+    }
+
+    public int redisPort() {
+        return redis.getMappedPort(6379);
+    }
+
+    @Override
+    public void close() {
+        redis.stop();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,87 @@
+package faang.school.postservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response times per operation, in microseconds, measured from the intended send time so that a stalled service
+ * shows up in the percentiles instead of silently lowering the request rate.
+ */
+public class LatencyReport {
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> throttled = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicLong());
+            throttled.put(operation, new AtomicLong());
+        }
+    }
+
+    public void recordSuccess(Operation operation, long latencyNanos) {
+        histograms.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    public void recordError(Operation operation) {
+        errors.get(operation).incrementAndGet();
+    }
+
+    public void recordThrottled(Operation operation) {
+        throttled.get(operation).incrementAndGet();
+    }
+
+    public void print(PrintStream out, Duration measured, double targetRate, long sent) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%nTarget rate %.1f req/s, sent %.1f req/s over %s%n", targetRate, sent / seconds, measured);
+        out.printf("%-10s %9s %9s %9s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "ok", "errors", "throttled", "ok req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0 && errors.get(operation).get() == 0 && throttled.get(operation).get() == 0) {
+                continue;
+            }
+            out.printf("%-10s %9d %9d %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.label(), count, errors.get(operation).get(), throttled.get(operation).get(),
+                    count / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    /**
+     * Writes one {@code <operation>.hgrm} percentile distribution per operation, in milliseconds,
+     * for plotting or comparing runs.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.label() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
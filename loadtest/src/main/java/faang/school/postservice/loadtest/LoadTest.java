@@ -0,0 +1,35 @@
+package faang.school.postservice.loadtest;
+
+/**
+ * Starts Postgres and Redis in containers, stub user, project and payment services and the packaged service, then
+ * drives the configured workload and prints latency percentiles per operation. Run with
+ * {@code ./gradlew :loadtest:run -Ploadtest.rate=200 -Ploadtest.duration=2m}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        try (Infrastructure infrastructure = new Infrastructure();
+             DownstreamStubs stubs = new DownstreamStubs()) {
+            infrastructure.start();
+            stubs.start(options);
+            try (ServiceProcess service = ServiceProcess.start(options, infrastructure, stubs);
+                 Workload workload = new Workload(options, service.baseUri())) {
+                System.out.printf("Seeding %d posts%n", options.seedPosts());
+                workload.seed();
+
+                System.out.printf("Sending %.1f req/s for %s warm-up and %s measured%n",
+                        options.rate(), options.warmup(), options.duration());
+                LatencyReport report = new LatencyReport();
+                long sent = workload.run(report);
+
+                report.print(System.out, options.duration(), options.rate(), sent);
+                System.out.printf("Downstream stubs: %d calls, %d injected errors%n",
+                        stubs.calls(), stubs.injectedErrors());
+                report.write(options.outputDir());
+                System.out.printf("Histograms written to %s, service log in %s%n",
+                        options.outputDir(), options.outputDir().resolve("service.log"));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package faang.school.postservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties.
+ */
+public record LoadTestOptions(
+        Path serviceJar,
+        Path outputDir,
+        String serviceArgs,
+        double rate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        Duration requestTimeout,
+        int users,
+        int seedPosts,
+        Map<Operation, Integer> mix,
+        StubBehaviour userService,
+        StubBehaviour projectService,
+        StubBehaviour paymentService
+) {
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Path.of(required("loadtest.serviceJar")),
+                Path.of(property("loadtest.outputDir", "build/loadtest")),
+                property("loadtest.serviceArgs", ""),
+                Double.parseDouble(property("loadtest.rate", "100")),
+                Boolean.parseBoolean(property("loadtest.poisson", "true")),
+                duration("loadtest.warmup", "30s"),
+                duration("loadtest.duration", "60s"),
+                duration("loadtest.requestTimeout", "10s"),
+                Integer.parseInt(property("loadtest.users", "10000")),
+                Integer.parseInt(property("loadtest.seedPosts", "500")),
+                mix(property("loadtest.mix", "get:50,byAuthor:25,create:10,publish:5,autosave:10")),
+                StubBehaviour.fromSystemProperties("user-service"),
+                StubBehaviour.fromSystemProperties("project-service"),
+                StubBehaviour.fromSystemProperties("payment-service"));
+    }
+
+    /**
+     * Latency and failures injected by a downstream stub. Read from {@code loadtest.stub.<service>.<setting>},
+     * falling back to {@code loadtest.stub.<setting>}.
+     *
+     * @param latency     fixed part of every response time
+     * @param jitter      mean of an exponentially distributed extra delay
+     * @param slowRate    share of responses delayed by {@code slowLatency} instead, to model one bad replica
+     * @param errorRate   share of responses answered with 503
+     */
+    public record StubBehaviour(Duration latency, Duration jitter, double slowRate, Duration slowLatency,
+                                double errorRate) {
+
+        static StubBehaviour fromSystemProperties(String service) {
+            return new StubBehaviour(
+                    stubDuration(service, "latency", "20ms"),
+                    stubDuration(service, "jitter", "5ms"),
+                    Double.parseDouble(stubProperty(service, "slowRate", "0")),
+                    stubDuration(service, "slowLatency", "1s"),
+                    Double.parseDouble(stubProperty(service, "errorRate", "0")));
+        }
+
+        private static String stubProperty(String service, String name, String defaultValue) {
+            return property("loadtest.stub." + service + "." + name, property("loadtest.stub." + name, defaultValue));
+        }
+
+        private static Duration stubDuration(String service, String name, String defaultValue) {
+            return parseDuration(stubProperty(service, name, defaultValue));
+        }
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            mix.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("System property " + name + " is required");
+        }
+        return value;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return parseDuration(property(name, defaultValue));
+    }
+
+    /**
+     * Parses {@code 250ms}, {@code 30s}, {@code 2m} or an ISO-8601 duration.
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.parse(trimmed);
+    }
+}
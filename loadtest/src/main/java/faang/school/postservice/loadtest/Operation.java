@@ -0,0 +1,28 @@
+package faang.school.postservice.loadtest;
+
+import java.util.Arrays;
+
+public enum Operation {
+    GET("get"),
+    BY_AUTHOR("byAuthor"),
+    CREATE("create"),
+    PUBLISH("publish"),
+    AUTOSAVE("autosave");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + name));
+    }
+}
@@ -0,0 +1,104 @@
+package faang.school.postservice.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the built service.jar in a child JVM against the containers and stubs, logging to {@code service.log}.
+ */
+public class ServiceProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final int port;
+
+    private ServiceProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    public static ServiceProcess start(LoadTestOptions options, Infrastructure infrastructure, DownstreamStubs stubs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", options.serviceJar().toString(),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + infrastructure.jdbcUrl(),
+                "--spring.datasource.username=" + infrastructure.username(),
+                "--spring.datasource.password=" + infrastructure.password(),
+                "--spring.data.redis.host=" + infrastructure.redisHost(),
+                "--spring.data.redis.port=" + infrastructure.redisPort(),
+                "--spring.jpa.show-sql=false",
+                "--user-service.host=http://localhost",
+                "--user-service.port=" + stubs.userServicePort(),
+                "--project-service.host=http://localhost",
+                "--project-service.port=" + stubs.projectServicePort(),
+                "--payment-service.host=http://localhost",
+                "--payment-service.port=" + stubs.paymentServicePort()));
+        if (!options.serviceArgs().isBlank()) {
+            command.addAll(Arrays.asList(options.serviceArgs().trim().split("\\s+")));
+        }
+
+        Files.createDirectories(options.outputDir());
+        Path log = options.outputDir().resolve("service.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ServiceProcess service = new ServiceProcess(process, port);
+        service.awaitHealthy(log);
+        return service;
+    }
+
+    public URI baseUri() {
+        return URI.create("http://localhost:" + port);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private void awaitHealthy(Path log) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(baseUri().resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Service did not become healthy in " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package faang.school.postservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model workload against PostController: requests are sent on a schedule fixed in advance (evenly spaced or
+ * Poisson arrivals at {@code rate}), whether or not earlier ones have completed, and each request picks an operation
+ * by the configured mix.
+ */
+public class Workload implements AutoCloseable {
+    private static final String LOREM = ("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+            + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco "
+            + "laboris nisi ut aliquip ex ea commodo consequat. ").repeat(20);
+    private static final int SEED_CONCURRENCY = 32;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<PostRef> drafts = new ArrayList<>();
+    private final List<PostRef> published = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public Workload(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must have a positive weight");
+        }
+    }
+
+    /**
+     * Creates and publishes {@code seedPosts} posts, so reads have something to find from the first second.
+     */
+    public void seed() {
+        List<CompletableFuture<Void>> batch = new ArrayList<>();
+        for (int i = 0; i < options.seedPosts(); i++) {
+            long authorId = randomUser();
+            batch.add(client.sendAsync(createRequest(authorId), HttpResponse.BodyHandlers.ofByteArray())
+                    .thenCompose(response -> {
+                        PostRef post = new PostRef(readId(response), authorId);
+                        return client.sendAsync(publishRequest(post), HttpResponse.BodyHandlers.discarding())
+                                .thenAccept(published -> addTo(this.published, post));
+                    }));
+            if (batch.size() == SEED_CONCURRENCY) {
+                CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+                batch.clear();
+            }
+        }
+        CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Runs the warm-up and then the measured period, recording only requests scheduled in the measured period.
+     *
+     * @return the number of measured requests sent
+     */
+    public long run(LatencyReport report) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = 1e9 / options.rate();
+        long start = System.nanoTime();
+        long measuredFrom = start + options.warmup().toNanos();
+        long end = measuredFrom + options.duration().toNanos();
+        long sent = 0;
+
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measuredFrom;
+            send(pickOperation(random), intended, measured ? report : null);
+            if (measured) {
+                sent++;
+            }
+            intended += options.poisson()
+                    ? (long) (meanIntervalNanos * random.nextExponential())
+                    : (long) meanIntervalNanos;
+        }
+
+        long drainDeadline = System.nanoTime() + options.requestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return sent;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void send(Operation operation, long intendedNanos, LatencyReport report) {
+        PostRef target = null;
+        HttpRequest request;
+        switch (operation) {
+            case GET -> {
+                target = randomFrom(published);
+                request = target == null ? null : get("/api/v1/posts/" + target.id());
+            }
+            case BY_AUTHOR -> {
+                target = randomFrom(published);
+                request = target == null ? null : get("/api/v1/posts/author/" + target.authorId() + "?size=20");
+            }
+            case PUBLISH -> {
+                target = removeRandom(drafts);
+                request = target == null ? null : publishRequest(target);
+            }
+            case AUTOSAVE -> {
+                target = randomFrom(drafts);
+                request = target == null ? null : autosaveRequest(target);
+            }
+            default -> request = null;
+        }
+        if (request == null) {
+            operation = Operation.CREATE;
+            target = new PostRef(0, randomUser());
+            request = createRequest(target.authorId());
+        }
+
+        Operation sentOperation = operation;
+        PostRef sentTarget = target;
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    try {
+                        long latency = System.nanoTime() - intendedNanos;
+                        if (error == null && response.statusCode() < 400) {
+                            onSuccess(sentOperation, sentTarget, response);
+                        }
+                        if (report == null) {
+                            return;
+                        }
+                        if (error != null || (response.statusCode() >= 400 && response.statusCode() != 429)) {
+                            report.recordError(sentOperation);
+                        } else if (response.statusCode() == 429) {
+                            report.recordThrottled(sentOperation);
+                        } else {
+                            report.recordSuccess(sentOperation, latency);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    private void onSuccess(Operation operation, PostRef target, HttpResponse<byte[]> response) {
+        switch (operation) {
+            case CREATE -> addTo(drafts, new PostRef(readId(response), target.authorId()));
+            case PUBLISH -> addTo(published, target);
+            default -> {
+            }
+        }
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(options.requestTimeout())
+                .header("x-user-id", String.valueOf(randomUser()))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest createRequest(long authorId) {
+        return json(HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts")), authorId,
+                Map.of("content", randomContent(), "authorId", authorId), "POST");
+    }
+
+    private HttpRequest publishRequest(PostRef post) {
+        return HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts/" + post.id()))
+                .timeout(options.requestTimeout())
+                .header("x-user-id", String.valueOf(post.authorId()))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest autosaveRequest(PostRef post) {
+        return json(HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts/" + post.id() + "/draft")), post.authorId(),
+                Map.of("content", randomContent()), "PUT");
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, long userId, Object body, String method) {
+        try {
+            return builder.timeout(options.requestTimeout())
+                    .header("x-user-id", String.valueOf(userId))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readId(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Request failed with " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, options.users() + 1L);
+    }
+
+    private static String randomContent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int length = random.nextInt(100, 2000);
+        int offset = random.nextInt(LOREM.length() - length);
+        return LOREM.substring(offset, offset + length);
+    }
+
+    private static void addTo(List<PostRef> posts, PostRef post) {
+        synchronized (posts) {
+            posts.add(post);
+        }
+    }
+
+    private static PostRef randomFrom(List<PostRef> posts) {
+        synchronized (posts) {
+            return posts.isEmpty() ? null : posts.get(ThreadLocalRandom.current().nextInt(posts.size()));
+        }
+    }
+
+    private static PostRef removeRandom(List<PostRef> posts) {
+        synchronized (posts) {
+            if (posts.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(posts.size());
+            PostRef last = posts.remove(posts.size() - 1);
+            return index == posts.size() ? last : posts.set(index, last);
+        }
+    }
+
+    private record PostRef(long id, long authorId) {
+    }
+}
@@ -1 +1,3 @@
 rootProject.name = "PostService"
+
+include("loadtest")
@@ -0,0 +1,74 @@
+package faang.school.postservice.cache;
+
+import faang.school.postservice.dto.PostDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Read-through cache of post snapshots in Redis, stored with {@link faang.school.postservice.cache.codec.PostSnapshotSerializer}.
+ * Failures are treated as misses, and unreadable entries are evicted.
+ */
+@Slf4j
+@Component
+public class PostCache {
+    private static final String KEY_PREFIX = "post:snapshot:";
+
+    private final RedisTemplate<String, PostDto> postRedisTemplate;
+    private final Duration ttl;
+
+    public PostCache(RedisTemplate<String, PostDto> postRedisTemplate, @Value("${post.cache.post-ttl}") Duration ttl) {
+        this.postRedisTemplate = postRedisTemplate;
+        this.ttl = ttl;
+    }
+
+    public Optional<PostDto> get(long postId) {
+        try {
+            return Optional.ofNullable(postRedisTemplate.opsForValue().get(key(postId)));
+        } catch (SerializationException e) {
+            log.warn("Evicting unreadable cached post {}", postId, e);
+            evict(postId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read cached post {}", postId, e);
+        }
+        return Optional.empty();
+    }
+
+    public void put(PostDto post) {
+        try {
+            postRedisTemplate.opsForValue().set(key(post.getId()), post, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache post {}", post.getId(), e);
+        }
+    }
+
+    public void evict(long postId) {
+        try {
+            postRedisTemplate.delete(key(postId));
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict cached post {}", postId, e);
+        }
+    }
+
+    public void evictAll(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            postRedisTemplate.delete(postIds.stream().map(PostCache::key).toList());
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict {} cached posts", postIds.size(), e);
+        }
+    }
+
+    private static String key(long postId) {
+        return KEY_PREFIX + postId;
+    }
+}
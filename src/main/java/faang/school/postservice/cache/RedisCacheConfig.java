@@ -0,0 +1,26 @@
+package faang.school.postservice.cache;
+
+import faang.school.postservice.cache.codec.PostSnapshotSerializer;
+import faang.school.postservice.dto.PostDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Configuration
+public class RedisCacheConfig {
+
+    @Bean
+    public RedisTemplate<String, PostDto> postRedisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Value("${post.cache.compression-threshold}") int compressionThreshold) {
+        RedisTemplate<String, PostDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new PostSnapshotSerializer(compressionThreshold));
+        template.setEnableDefaultSerializer(false);
+        return template;
+    }
+}
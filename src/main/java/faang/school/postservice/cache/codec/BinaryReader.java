@@ -0,0 +1,55 @@
+package faang.school.postservice.cache.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Reads what {@link BinaryWriter} wrote. Truncated or malformed input fails with {@link SerializationException}.
+ */
+public class BinaryReader {
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("Unexpected end of cached value");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint in cached value");
+    }
+
+    public LocalDateTime readTimestamp() {
+        long zigzag = readVarLong();
+        long micros = (zigzag >>> 1) ^ -(zigzag & 1);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    public byte[] readBytes() {
+        long length = readVarLong();
+        if (length < 0 || length > buffer.length - position) {
+            throw new SerializationException("Invalid length in cached value");
+        }
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + (int) length);
+        position += (int) length;
+        return bytes;
+    }
+}
@@ -0,0 +1,163 @@
+package faang.school.postservice.cache.codec;
+
+import faang.school.postservice.dto.PostDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary form of a cached {@link PostDto}, without the hydrated author and project:
+ * <pre>
+ * version:byte flags:byte id:varint [authorId:varint] [projectId:varint]
+ * [publishedAt:timestamp] [updatedAt:timestamp] [uncompressedLength:varint] contentLength:varint content:bytes
+ * </pre>
+ * Optional fields are present when their flag is set. Content longer than {@code compressionThreshold} bytes
+ * is deflated if that makes it smaller, and then prefixed with its original length. Values written with another
+ * version are rejected, so a format change only turns old entries into cache misses.
+ */
+public class PostSnapshotSerializer implements RedisSerializer<PostDto> {
+    static final int VERSION = 1;
+    private static final int MAX_CONTENT_LENGTH = 16 * 1024 * 1024;
+
+    private static final int PUBLISHED = 1;
+    private static final int DELETED = 1 << 1;
+    private static final int HAS_AUTHOR = 1 << 2;
+    private static final int HAS_PROJECT = 1 << 3;
+    private static final int HAS_PUBLISHED_AT = 1 << 4;
+    private static final int HAS_UPDATED_AT = 1 << 5;
+    private static final int COMPRESSED = 1 << 6;
+
+    private final int compressionThreshold;
+
+    public PostSnapshotSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(PostDto post) {
+        if (post == null) {
+            return null;
+        }
+        if (post.getId() == null) {
+            throw new SerializationException("Only saved posts can be cached");
+        }
+        byte[] content = post.getContent() == null
+                ? new byte[0]
+                : post.getContent().getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = content.length > compressionThreshold ? deflate(content) : null;
+        boolean useCompressed = compressed != null && compressed.length < content.length;
+
+        int flags = (post.isPublished() ? PUBLISHED : 0)
+                | (post.isDeleted() ? DELETED : 0)
+                | (post.getAuthorId() != null ? HAS_AUTHOR : 0)
+                | (post.getProjectId() != null ? HAS_PROJECT : 0)
+                | (post.getPublishedAt() != null ? HAS_PUBLISHED_AT : 0)
+                | (post.getUpdatedAt() != null ? HAS_UPDATED_AT : 0)
+                | (useCompressed ? COMPRESSED : 0);
+
+        BinaryWriter writer = new BinaryWriter(32 + (useCompressed ? compressed.length : content.length));
+        writer.writeByte(VERSION)
+                .writeByte(flags)
+                .writeVarLong(post.getId());
+        if (post.getAuthorId() != null) {
+            writer.writeVarLong(post.getAuthorId());
+        }
+        if (post.getProjectId() != null) {
+            writer.writeVarLong(post.getProjectId());
+        }
+        if (post.getPublishedAt() != null) {
+            writer.writeTimestamp(post.getPublishedAt());
+        }
+        if (post.getUpdatedAt() != null) {
+            writer.writeTimestamp(post.getUpdatedAt());
+        }
+        if (useCompressed) {
+            writer.writeVarLong(content.length).writeBytes(compressed);
+        } else {
+            writer.writeBytes(content);
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public PostDto deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        BinaryReader reader = new BinaryReader(bytes);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported cached post version " + version);
+        }
+        int flags = reader.readByte();
+
+        PostDto.PostDtoBuilder post = PostDto.builder()
+                .id(reader.readVarLong())
+                .published((flags & PUBLISHED) != 0)
+                .deleted((flags & DELETED) != 0);
+        if ((flags & HAS_AUTHOR) != 0) {
+            post.authorId(reader.readVarLong());
+        }
+        if ((flags & HAS_PROJECT) != 0) {
+            post.projectId(reader.readVarLong());
+        }
+        if ((flags & HAS_PUBLISHED_AT) != 0) {
+            post.publishedAt(reader.readTimestamp());
+        }
+        if ((flags & HAS_UPDATED_AT) != 0) {
+            post.updatedAt(reader.readTimestamp());
+        }
+        byte[] content = (flags & COMPRESSED) != 0
+                ? inflate(reader.readVarLong(), reader.readBytes())
+                : reader.readBytes();
+        return post.content(new String(content, StandardCharsets.UTF_8)).build();
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(long length, byte[] compressed) {
+        if (length < 0 || length > MAX_CONTENT_LENGTH) {
+            throw new SerializationException("Invalid content length in cached post");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] bytes = new byte[(int) length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(bytes, read, bytes.length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length) {
+                throw new SerializationException("Truncated compressed content in cached post");
+            }
+            return bytes;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupted compressed content in cached post", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
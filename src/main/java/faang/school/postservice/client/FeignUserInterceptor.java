@@ -12,6 +12,8 @@ public class FeignUserInterceptor implements RequestInterceptor {
 
     @Override
     public void apply(RequestTemplate template) {
-        template.header("x-user-id", String.valueOf(userContext.getUserId()));
+        if (userContext.hasUserId()) {
+            template.header("x-user-id", String.valueOf(userContext.getUserId()));
+        }
     }
 }
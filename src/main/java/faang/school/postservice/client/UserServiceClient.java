@@ -1,6 +1,7 @@
 package faang.school.postservice.client;
 
 import faang.school.postservice.dto.user.UserDto;
+import faang.school.postservice.client.resilience.Idempotent;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,5 +17,6 @@ public interface UserServiceClient {
     UserDto getUser(@PathVariable long userId);
 
     @PostMapping("/users")
+    @Idempotent
     List<UserDto> getUsersByIds(@RequestBody List<Long> ids);
 }
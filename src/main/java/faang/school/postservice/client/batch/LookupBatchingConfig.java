@@ -0,0 +1,24 @@
+package faang.school.postservice.client.batch;
+
+import faang.school.postservice.client.ProjectServiceClient;
+import faang.school.postservice.client.UserServiceClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LookupBatchingProperties.class)
+public class LookupBatchingConfig {
+
+    @Bean
+    public UserLookupBatcher userLookupBatcher(UserServiceClient userServiceClient,
+                                               LookupBatchingProperties properties) {
+        return new UserLookupBatcher(userServiceClient, properties);
+    }
+
+    @Bean
+    public ProjectLookupBatcher projectLookupBatcher(ProjectServiceClient projectServiceClient,
+                                                     LookupBatchingProperties properties) {
+        return new ProjectLookupBatcher(projectServiceClient, properties);
+    }
+}
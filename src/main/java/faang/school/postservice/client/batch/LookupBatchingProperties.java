@@ -0,0 +1,15 @@
+package faang.school.postservice.client.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "post.lookup-batching")
+public class LookupBatchingProperties {
+    private int maxBatchSize = 100;
+    private long maxDelayMs = 5;
+    private int concurrency = 4;
+    private Duration timeout = Duration.ofSeconds(3);
+}
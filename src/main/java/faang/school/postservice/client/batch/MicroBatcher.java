@@ -0,0 +1,170 @@
+package faang.school.postservice.client.batch;
+
+import faang.school.postservice.exception.LookupTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups for up to {@code maxDelayMillis} or {@code maxBatchSize} keys
+ * and resolves them with one bulk call. Lookups of a key that is already waiting or being loaded
+ * share the same result. Keys missing from the bulk result resolve to {@code null}.
+ * A batch serves many callers, so the bulk call runs on the batcher's own threads without any caller's
+ * {@link faang.school.postservice.config.context.UserContext}.
+ */
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Function<List<K>, Map<K, V>> loader;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Duration timeout;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+    private Batch pending;
+
+    public MicroBatcher(String name, Function<List<K>, Map<K, V>> loader, int maxBatchSize, long maxDelayMillis,
+                        int concurrency, Duration timeout) {
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.timeout = timeout;
+        this.timer = Executors.newSingleThreadScheduledExecutor(threadFactory(name + "-timer"));
+        this.executor = Executors.newFixedThreadPool(concurrency, threadFactory(name));
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Batch ready = null;
+        CompletableFuture<V> future;
+        lock.lock();
+        try {
+            future = inFlight.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            inFlight.put(key, future);
+
+            if (pending == null) {
+                Batch batch = new Batch();
+                batch.timeout = timer.schedule(() -> flush(batch), maxDelayMillis, TimeUnit.MILLISECONDS);
+                pending = batch;
+            }
+            pending.keys.add(key);
+            if (pending.keys.size() >= maxBatchSize) {
+                ready = pending;
+                pending = null;
+                ready.timeout.cancel(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) {
+            executor.execute(ready.task);
+        }
+        return future;
+    }
+
+    /**
+     * Blocking variant of {@link #load(Object)} that rethrows the failure of the bulk call as is
+     * and gives up after {@code timeout}.
+     */
+    public V get(K key) {
+        try {
+            return load(key).copy()
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new LookupTimeoutException("Lookup of " + key + " did not complete within " + timeout);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(batch.task);
+    }
+
+    private void execute(List<K> keys) {
+        Map<K, V> result = Map.of();
+        Throwable failure = null;
+        try {
+            result = loader.apply(keys);
+        } catch (Throwable e) {
+            log.warn("Bulk lookup of {} keys failed", keys.size(), e);
+            failure = e;
+        }
+
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        lock.lock();
+        try {
+            keys.forEach(key -> futures.add(inFlight.remove(key)));
+        } finally {
+            lock.unlock();
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (failure != null) {
+                futures.get(i).completeExceptionally(failure);
+            } else {
+                futures.get(i).complete(result == null ? null : result.get(keys.get(i)));
+            }
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class Batch {
+        private final List<K> keys = new ArrayList<>();
+        private final Runnable task = () -> execute(keys);
+        private ScheduledFuture<?> timeout;
+    }
+}
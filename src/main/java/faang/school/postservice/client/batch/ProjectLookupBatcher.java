@@ -0,0 +1,41 @@
+package faang.school.postservice.client.batch;
+
+import faang.school.postservice.client.ProjectServiceClient;
+import faang.school.postservice.dto.project.ProjectDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves single projects through batched {@link ProjectServiceClient#getProjectsByIds} calls.
+ */
+public class ProjectLookupBatcher implements AutoCloseable {
+
+    private final ProjectServiceClient projectServiceClient;
+    private final MicroBatcher<Long, ProjectDto> batcher;
+
+    public ProjectLookupBatcher(ProjectServiceClient projectServiceClient, LookupBatchingProperties properties) {
+        this.projectServiceClient = projectServiceClient;
+        this.batcher = new MicroBatcher<>("project-lookup", this::loadProjects, properties.getMaxBatchSize(),
+                properties.getMaxDelayMs(), properties.getConcurrency(), properties.getTimeout());
+    }
+
+    /**
+     * @return the project or {@code null} if project-service does not know it
+     */
+    public ProjectDto getProject(long projectId) {
+        return batcher.get(projectId);
+    }
+
+    private Map<Long, ProjectDto> loadProjects(List<Long> ids) {
+        return projectServiceClient.getProjectsByIds(ids).stream()
+                .collect(Collectors.toMap(ProjectDto::getId, Function.identity(), (first, second) -> first));
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+}
@@ -0,0 +1,41 @@
+package faang.school.postservice.client.batch;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.user.UserDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves single users through batched {@link UserServiceClient#getUsersByIds} calls.
+ */
+public class UserLookupBatcher implements AutoCloseable {
+
+    private final UserServiceClient userServiceClient;
+    private final MicroBatcher<Long, UserDto> batcher;
+
+    public UserLookupBatcher(UserServiceClient userServiceClient, LookupBatchingProperties properties) {
+        this.userServiceClient = userServiceClient;
+        this.batcher = new MicroBatcher<>("user-lookup", this::loadUsers, properties.getMaxBatchSize(),
+                properties.getMaxDelayMs(), properties.getConcurrency(), properties.getTimeout());
+    }
+
+    /**
+     * @return the user or {@code null} if user-service does not know it
+     */
+    public UserDto getUser(long userId) {
+        return batcher.get(userId);
+    }
+
+    private Map<Long, UserDto> loadUsers(List<Long> ids) {
+        return userServiceClient.getUsersByIds(ids).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, second) -> first));
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+}
@@ -0,0 +1,203 @@
+package faang.school.postservice.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Protects calls to one downstream service: a bulkhead caps concurrent attempts, a circuit breaker fails fast
+ * while the service is unhealthy, and idempotent calls are hedged - if the first attempt is slower than the
+ * recent latency percentile, a second one is sent and the first response wins.
+ * Rejections are thrown as {@link IOException}, which Feign reports as a {@link feign.RetryableException}.
+ */
+class DownstreamGuard {
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final ResilienceProperties.Hedging hedging;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Executor executor;
+    private final Timer attempts;
+    private final Counter hedgesFired;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    private volatile long hedgeDelayMillis;
+    private volatile long hedgeDelayRefreshedAt;
+
+    DownstreamGuard(String name, ResilienceProperties.Policy policy, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                    Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.hedging = policy.getHedging();
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.executor = executor;
+        this.attempts = Timer.builder("feign.client.attempts")
+                .tag("client", name)
+                .publishPercentiles(hedging.getPercentile())
+                .register(meterRegistry);
+        this.hedgesFired = Counter.builder("feign.client.hedges")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.primaryWins = Counter.builder("feign.client.hedge.wins")
+                .tag("client", name)
+                .tag("winner", "primary")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("feign.client.hedge.wins")
+                .tag("client", name)
+                .tag("winner", "hedge")
+                .register(meterRegistry);
+        this.hedgeDelayMillis = hedging.getInitialDelay().toMillis();
+        this.hedgeDelayRefreshedAt = System.nanoTime();
+    }
+
+    Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new IOException("Circuit breaker of " + name + " is open");
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = isHedgeable(request)
+                    ? executeHedged(delegate, request, options)
+                    : attempt(delegate, request, options);
+            long elapsed = System.nanoTime() - start;
+            if (response.status() >= 500) {
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, new IOException("HTTP " + response.status()));
+            } else {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return response;
+        } catch (BulkheadFullException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+    }
+
+    private boolean isHedgeable(Request request) {
+        if (!hedging.isEnabled()) {
+            return false;
+        }
+        if (request.httpMethod() == Request.HttpMethod.GET) {
+            return true;
+        }
+        return request.requestTemplate() != null
+                && request.requestTemplate().methodMetadata() != null
+                && request.requestTemplate().methodMetadata().method().isAnnotationPresent(Idempotent.class);
+    }
+
+    private Response executeHedged(Client delegate, Request request, Request.Options options) throws IOException {
+        CompletableFuture<Response> primary = submit(delegate, request, options);
+        try {
+            return primary.get(hedgeDelay(options), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the primary attempt is slow, hedge it below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + name);
+        }
+
+        hedgesFired.increment();
+        CompletableFuture<Response> hedge = submit(delegate, request, options);
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> complete(first, response, error, failures, primaryWins));
+        hedge.whenComplete((response, error) -> complete(first, response, error, failures, hedgeWins));
+        try {
+            return first.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + name);
+        }
+    }
+
+    private void complete(CompletableFuture<Response> first, Response response, Throwable error,
+                          AtomicInteger failures, Counter wins) {
+        if (error == null) {
+            if (first.complete(response)) {
+                wins.increment();
+            } else {
+                response.close();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private CompletableFuture<Response> submit(Client delegate, Request request, Request.Options options) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return attempt(delegate, request, options);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private Response attempt(Client delegate, Request request, Request.Options options) throws IOException {
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new BulkheadFullException("Too many concurrent calls to " + name);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.execute(request, options);
+        } finally {
+            bulkhead.onComplete();
+            attempts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long hedgeDelay(Request.Options options) {
+        long now = System.nanoTime();
+        if (now - hedgeDelayRefreshedAt > DELAY_REFRESH_NANOS) {
+            hedgeDelayRefreshedAt = now;
+            for (ValueAtPercentile percentile : attempts.takeSnapshot().percentileValues()) {
+                long millis = (long) percentile.value(TimeUnit.MILLISECONDS);
+                if (millis > 0) {
+                    hedgeDelayMillis = millis;
+                }
+            }
+        }
+        return Math.min(Math.max(hedgeDelayMillis, hedging.getMinDelay().toMillis()), options.readTimeoutMillis());
+    }
+
+    private IOException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+
+    static class BulkheadFullException extends IOException {
+        BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package faang.school.postservice.client.resilience;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wraps the HTTP client of every Feign client in a {@link DownstreamGuard} chosen by the {@code @FeignClient} name.
+ */
+public class ResilienceCapability implements Capability, DisposableBean {
+
+    private final ResilienceProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<String, DownstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public ResilienceCapability(ResilienceProperties properties, BulkheadRegistry bulkheadRegistry,
+                                CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+        // hedged attempts run here; the number of threads is bounded in practice by the bulkheads
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-attempt-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> guardFor(request).execute(client, request, options);
+    }
+
+    private DownstreamGuard guardFor(Request request) {
+        String name = request.requestTemplate().feignTarget().name();
+        return guards.computeIfAbsent(name, this::createGuard);
+    }
+
+    private DownstreamGuard createGuard(String name) {
+        ResilienceProperties.Policy policy = properties.policyFor(name);
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(policy.getSlidingWindowSize())
+                .minimumNumberOfCalls(Math.min(10, policy.getSlidingWindowSize()))
+                .failureRateThreshold(policy.getFailureRateThreshold())
+                .slowCallDurationThreshold(policy.getSlowCallDuration())
+                .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                .waitDurationInOpenState(policy.getWaitInOpenState())
+                .build();
+        return new DownstreamGuard(name, policy,
+                bulkheadRegistry.bulkhead(name, bulkheadConfig),
+                circuitBreakerRegistry.circuitBreaker(name, circuitBreakerConfig),
+                executor, meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package faang.school.postservice.client.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per Feign client policies, keyed by the {@code @FeignClient} name. Clients without an entry get the defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "post.resilience")
+public class ResilienceProperties {
+    private Map<String, Policy> clients = new HashMap<>();
+
+    public Policy policyFor(String clientName) {
+        return clients.getOrDefault(clientName, new Policy());
+    }
+
+    @Data
+    public static class Policy {
+        private int maxConcurrentCalls = 25;
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private float slowCallRateThreshold = 80;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private Hedging hedging = new Hedging();
+    }
+
+    @Data
+    public static class Hedging {
+        private boolean enabled;
+        private double percentile = 0.95;
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration minDelay = Duration.ofMillis(10);
+    }
+}
@@ -2,6 +2,13 @@ package faang.school.postservice.config.context;
 
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the id of the calling user for the current task. The value does not leak into other threads
+ * by itself: work handed to another executor must be wrapped with {@link #wrap(Runnable)} or
+ * {@link #wrap(Callable)}, which is done for Spring-managed executors by {@link UserContextTaskDecorator}.
+ */
 @Component
 public class UserContext {
 
@@ -15,7 +22,49 @@ public class UserContext {
         return userIdHolder.get();
     }
 
+    public boolean hasUserId() {
+        return userIdHolder.get() != null;
+    }
+
     public void clear() {
         userIdHolder.remove();
     }
+
+    /**
+     * Captures the current user and returns a task that runs with it on whatever thread executes it,
+     * restoring that thread's previous value afterwards.
+     */
+    public Runnable wrap(Runnable task) {
+        Long captured = userIdHolder.get();
+        return () -> {
+            Long previous = replace(captured);
+            try {
+                task.run();
+            } finally {
+                replace(previous);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Long captured = userIdHolder.get();
+        return () -> {
+            Long previous = replace(captured);
+            try {
+                return task.call();
+            } finally {
+                replace(previous);
+            }
+        };
+    }
+
+    private Long replace(Long userId) {
+        Long previous = userIdHolder.get();
+        if (userId == null) {
+            userIdHolder.remove();
+        } else {
+            userIdHolder.set(userId);
+        }
+        return previous;
+    }
 }
@@ -0,0 +1,21 @@
+package faang.school.postservice.config.context;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries {@link UserContext} over executor hops. Spring Boot applies the single {@link TaskDecorator}
+ * bean to the auto-configured {@code applicationTaskExecutor}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserContextTaskDecorator implements TaskDecorator {
+
+    private final UserContext userContext;
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return userContext.wrap(runnable);
+    }
+}
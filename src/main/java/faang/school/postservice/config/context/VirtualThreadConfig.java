@@ -0,0 +1,49 @@
+package faang.school.postservice.config.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every request and every application task on its own virtual thread.
+ * The project is compiled for Java 17, so the virtual thread executor is looked up at runtime
+ * and the service has to be started on JDK 21+ with {@code post.threads.virtual.enabled=true}.
+ * The Docker image runs on JDK 21; tests of this class run in the {@code virtualThreadTest} Gradle task.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "post.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        log.info("Tomcat requests are served by virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor,
+                                                     UserContextTaskDecorator userContextTaskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualThreadExecutor);
+        executor.setTaskDecorator(userContextTaskDecorator);
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package faang.school.postservice.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "post.datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled;
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,57 @@
+package faang.school.postservice.config.datasource;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class QueryBudgetFilter implements Filter {
+
+    private static final String APP_PACKAGE = "faang.school.postservice";
+
+    private final int maxStatements;
+    private final int stackDepth;
+
+    public QueryBudgetFilter(@Value("${post.query-budget.max-statements}") int maxStatements,
+                             @Value("${post.query-budget.stack-depth}") int stackDepth) {
+        this.maxStatements = maxStatements;
+        this.stackDepth = stackDepth;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCountHolder.start(maxStatements);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (count.isBudgetExceeded()) {
+                HttpServletRequest req = (HttpServletRequest) request;
+                log.warn("{} {} executed {} SQL statements ({}), budget is {}. Budget exceeded at:\n{}",
+                        req.getMethod(), req.getRequestURI(), count.getTotal(), count, maxStatements,
+                        formatStack(count.getBudgetExceededAt()));
+            }
+            QueryCountHolder.clear();
+        }
+    }
+
+    private String formatStack(StackTraceElement[] stack) {
+        return Arrays.stream(stack)
+                .filter(element -> element.getClassName().startsWith(APP_PACKAGE))
+                .filter(element -> !element.getClassName().startsWith(QueryCount.class.getPackageName()))
+                .limit(stackDepth)
+                .map(element -> "\tat " + element)
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,51 @@
+package faang.school.postservice.config.datasource;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.QueryType;
+
+/**
+ * Number of SQL statements executed by the current thread, split by statement type.
+ * A JDBC batch counts as a single statement because it is a single round trip.
+ */
+@Getter
+public class QueryCount {
+    private int select;
+    private int insert;
+    private int update;
+    private int delete;
+    private int other;
+
+    private int budget;
+    private StackTraceElement[] budgetExceededAt;
+
+    public int getTotal() {
+        return select + insert + update + delete + other;
+    }
+
+    public boolean isBudgetExceeded() {
+        return budget > 0 && getTotal() > budget;
+    }
+
+    void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    void increment(QueryType type) {
+        switch (type) {
+            case SELECT -> select++;
+            case INSERT -> insert++;
+            case UPDATE -> update++;
+            case DELETE -> delete++;
+            default -> other++;
+        }
+        if (budget > 0 && budgetExceededAt == null && getTotal() > budget) {
+            budgetExceededAt = Thread.currentThread().getStackTrace();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "select=%d, insert=%d, update=%d, delete=%d, other=%d"
+                .formatted(select, insert, update, delete, other);
+    }
+}
@@ -0,0 +1,35 @@
+package faang.school.postservice.config.datasource;
+
+/**
+ * Statement counter of the current thread. Statements are only counted between {@link #start} and {@link #clear},
+ * so scheduler, worker and executor threads that never open a scope do not accumulate counts.
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> HOLDER = new ThreadLocal<>();
+
+    private QueryCountHolder() {
+    }
+
+    /**
+     * Returns the counter of the current scope, or null if no scope is open on this thread.
+     */
+    public static QueryCount get() {
+        return HOLDER.get();
+    }
+
+    /**
+     * Resets the counters of the current thread and sets the statement budget.
+     * A budget of zero disables the budget check.
+     */
+    public static QueryCount start(int budget) {
+        QueryCount count = new QueryCount();
+        count.setBudget(budget);
+        HOLDER.set(count);
+        return count;
+    }
+
+    public static void clear() {
+        HOLDER.remove();
+    }
+}
@@ -0,0 +1,28 @@
+package faang.school.postservice.config.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+
+public class QueryCountListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryCount count = QueryCountHolder.get();
+        if (count == null) {
+            return;
+        }
+        QueryType type = queryInfoList.isEmpty()
+                ? QueryType.OTHER
+                : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        count.increment(type);
+    }
+}
@@ -0,0 +1,31 @@
+package faang.school.postservice.config.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@code dataSource} into a proxy that counts executed statements per thread.
+ * Only the bean named {@code dataSource} is wrapped so that statements are not counted twice
+ * when it delegates to other pools.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryCountListener())
+                    .build();
+        }
+        return bean;
+    }
+}
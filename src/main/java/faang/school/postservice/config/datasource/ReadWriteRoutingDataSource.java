@@ -0,0 +1,34 @@
+package faang.school.postservice.config.datasource;
+
+import faang.school.postservice.config.context.UserContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Must be wrapped into a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * otherwise the connection is taken before the transaction is marked as read-only.
+ * Writes are recorded by {@link ReadYourWritesListener} on the primary.
+ */
+@RequiredArgsConstructor
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaPool replicaPool;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final UserContext userContext;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long userId = userContext.hasUserId() ? userContext.getUserId() : null;
+        if (userId != null && readYourWritesTracker.isSticky(userId)) {
+            return PRIMARY;
+        }
+        return replicaPool.next().orElse(PRIMARY);
+    }
+}
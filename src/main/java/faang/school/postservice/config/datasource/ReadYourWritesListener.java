@@ -0,0 +1,86 @@
+package faang.school.postservice.config.datasource;
+
+import faang.school.postservice.config.context.UserContext;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records a write of the current user in {@link ReadYourWritesTracker} once a statement on the primary actually
+ * modified rows, so transactions that are not read-only but only read do not pin the user to the primary.
+ * Inside a transaction the write is recorded on commit.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesListener implements QueryExecutionListener {
+    private static final Set<QueryType> WRITES = Set.of(QueryType.INSERT, QueryType.UPDATE, QueryType.DELETE);
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final UserContext userContext;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!execInfo.isSuccess() || !userContext.hasUserId() || !modifiedRows(execInfo, queryInfoList)) {
+            return;
+        }
+        long userId = userContext.getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWritesTracker.recordWrite(userId);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite(userId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesListener.this);
+            }
+        });
+    }
+
+    private static boolean modifiedRows(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated) {
+            return updated > 0;
+        }
+        if (result instanceof Long updated) {
+            return updated > 0;
+        }
+        if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                if (updated != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (result instanceof long[] batch) {
+            for (long updated : batch) {
+                if (updated != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        // execute() only tells whether there is a result set, so judge by the statement
+        return !queryInfoList.isEmpty() && WRITES.contains(QueryUtils.getQueryType(queryInfoList.get(0).getQuery()));
+    }
+}
@@ -0,0 +1,36 @@
+package faang.school.postservice.config.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users that recently wrote to the primary, so that their reads stay on the primary
+ * until replicas had a chance to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public void recordWrite(long userId) {
+        stickyUntil.put(userId, System.currentTimeMillis() + windowMillis);
+    }
+
+    public boolean isSticky(long userId) {
+        Long until = stickyUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+}
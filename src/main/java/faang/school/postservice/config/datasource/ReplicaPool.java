@@ -0,0 +1,99 @@
+package faang.school.postservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas available for routing. A replica takes read traffic only while its replication lag,
+ * checked on a schedule, stays below the configured maximum.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+    private final Duration maxReplicationLag;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaPool(DataSourceRoutingProperties properties) {
+        this.maxReplicationLag = properties.getMaxReplicationLag();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(replica.getName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.put(replica.getName(), dataSource);
+        }
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Picks the next healthy replica in round-robin order, or nothing if every replica lags behind.
+     */
+    public Optional<String> next() {
+        List<String> current = healthy;
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(current.get(Math.floorMod(cursor.getAndIncrement(), current.size())));
+    }
+
+    @Scheduled(fixedDelayString = "${post.datasource.routing.lag-check-interval-ms}")
+    public void checkReplicationLag() {
+        List<String> result = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            try {
+                double lagSeconds = queryLagSeconds(dataSource);
+                if (lagSeconds * 1000 <= maxReplicationLag.toMillis()) {
+                    result.add(name);
+                } else {
+                    log.warn("Replica {} lags behind primary by {}s, excluded from reads", name, lagSeconds);
+                }
+            } catch (SQLException e) {
+                log.warn("Replica {} is unavailable, excluded from reads", name, e);
+            }
+        });
+        healthy = List.copyOf(result);
+    }
+
+    private double queryLagSeconds(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            return resultSet.getDouble(1);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,41 @@
+package faang.school.postservice.config.ratelimit;
+
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Applies {@link RateLimited} limits per caller: the {@code x-user-id} user, or the remote address if there is none.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final UserContext userContext;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+        String subject = userContext.hasUserId()
+                ? "user:" + userContext.getUserId()
+                : "ip:" + request.getRemoteAddr();
+        Duration retryAfter = rateLimiter.tryAcquire(rateLimited.value(), subject);
+        if (!retryAfter.isZero()) {
+            throw new RateLimitExceededException(
+                    "Too many requests, retry in " + retryAfter.toMillis() + " ms", retryAfter);
+        }
+        return true;
+    }
+}
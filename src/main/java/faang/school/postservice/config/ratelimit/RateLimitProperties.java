@@ -0,0 +1,24 @@
+package faang.school.postservice.config.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "post.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private String keyPrefix = "post:rate-limit:";
+    private int localLeaseSize = 5;
+    private Duration localLeaseTtl = Duration.ofSeconds(1);
+    private Map<String, Limit> limits = new HashMap<>();
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
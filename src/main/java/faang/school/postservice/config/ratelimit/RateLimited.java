@@ -0,0 +1,16 @@
+package faang.school.postservice.config.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how often a single user may call the annotated endpoint.
+ * The value names a limit configured under {@code post.rate-limit.limits}; endpoints sharing a name share a bucket.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
@@ -0,0 +1,126 @@
+package faang.school.postservice.config.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import faang.school.postservice.config.redis.RedisScripts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token buckets kept in Redis and updated by a single Lua script, so all instances share one limit per user.
+ * To spare a Redis round trip on every call, each instance takes a small lease of tokens at once and spends it
+ * locally until it runs out or expires; a denial is remembered locally until the bucket refills. Redis hands out
+ * leases only while the bucket stays well above empty, and tokens left in an expired lease go back to the bucket,
+ * so leasing never denies a caller that is under its limit. If Redis is unavailable, requests are let through.
+ */
+@Slf4j
+public class TokenBucketRateLimiter {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final DefaultRedisScript<List<Long>> script = RedisScripts.ofList("scripts/token_bucket.lua");
+    private final DefaultRedisScript<Long> returnScript = RedisScripts.of("scripts/token_bucket_return.lua", Long.class);
+    private final Cache<String, Lease> leases;
+
+    public TokenBucketRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        properties.getLimits().forEach((name, limit) -> {
+            if (limit.getCapacity() < 1 || limit.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("Rate limit " + name + " must have positive capacity and refill rate");
+            }
+        });
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.leases = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getLocalLeaseTtl())
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String key, Lease lease, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        returnUnspent(key, lease);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Takes one token from the {@code limitName} bucket of {@code subject}.
+     *
+     * @return {@link Duration#ZERO} if the call is allowed, otherwise how long to wait before retrying
+     */
+    public Duration tryAcquire(String limitName, String subject) {
+        RateLimitProperties.Limit limit = properties.getLimits().get(limitName);
+        if (limit == null) {
+            throw new IllegalStateException("Rate limit " + limitName + " is not configured");
+        }
+        String key = properties.getKeyPrefix() + limitName + ":" + subject;
+
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null) {
+            long now = System.currentTimeMillis();
+            if (lease.blockedUntil > now) {
+                return Duration.ofMillis(lease.blockedUntil - now);
+            }
+            if (lease.tokens.getAndDecrement() > 0) {
+                return Duration.ZERO;
+            }
+        }
+
+        int wanted = Math.min(properties.getLocalLeaseSize(), limit.getCapacity());
+        List<Long> result;
+        try {
+            result = redisTemplate.execute(script, List.of(key), String.valueOf(limit.getCapacity()),
+                    String.valueOf(limit.getRefillPerSecond()), String.valueOf(wanted));
+        } catch (DataAccessException e) {
+            log.warn("Rate limiter is unavailable, letting {} through", key, e);
+            return Duration.ZERO;
+        }
+        if (result == null || result.size() < 2) {
+            return Duration.ZERO;
+        }
+
+        long granted = result.get(0);
+        if (granted > 0) {
+            if (granted > 1) {
+                leases.put(key, new Lease(limit, (int) granted - 1, 0));
+            } else {
+                leases.invalidate(key);
+            }
+            return Duration.ZERO;
+        }
+        long retryAfterMillis = result.get(1);
+        leases.put(key, new Lease(limit, 0, System.currentTimeMillis() + retryAfterMillis));
+        return Duration.ofMillis(Math.max(1, retryAfterMillis));
+    }
+
+    private void returnUnspent(String key, Lease lease) {
+        int unspent = lease.tokens.getAndSet(0);
+        if (unspent <= 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(returnScript, List.of(key), String.valueOf(lease.limit.getCapacity()),
+                    String.valueOf(lease.limit.getRefillPerSecond()), String.valueOf(unspent));
+        } catch (DataAccessException e) {
+            log.debug("Failed to return {} unspent tokens of {}", unspent, key, e);
+        }
+    }
+
+    private static final class Lease {
+        private final RateLimitProperties.Limit limit;
+        private final AtomicInteger tokens;
+        private final long blockedUntil;
+
+        private Lease(RateLimitProperties.Limit limit, int tokens, long blockedUntil) {
+            this.limit = limit;
+            this.tokens = new AtomicInteger(tokens);
+            this.blockedUntil = blockedUntil;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package faang.school.postservice.config.redis;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.util.List;
+
+/**
+ * Lua scripts loaded from the classpath. Integer replies come back as {@code Long} and bulk replies as
+ * {@code String} when executed through a {@code StringRedisTemplate}.
+ */
+public final class RedisScripts {
+
+    private RedisScripts() {
+    }
+
+    public static <T> DefaultRedisScript<T> of(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    /**
+     * A script returning an array; the element type is not checked, so it must match what the script returns.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> DefaultRedisScript<List<E>> ofList(String path) {
+        return of(path, (Class<List<E>>) (Class<?>) List.class);
+    }
+}
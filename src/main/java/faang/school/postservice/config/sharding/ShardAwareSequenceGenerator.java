@@ -0,0 +1,68 @@
+package faang.school.postservice.config.sharding;
+
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes ids from the sequence of the current shard and stamps the shard number into them,
+ * see {@link ShardIds}. Every shard gets its own pooled optimizer, so a block of values fetched
+ * from one shard's sequence is never used for rows of another shard.
+ * Accepts the same parameters as {@link SequenceStyleGenerator}.
+ */
+public class ShardAwareSequenceGenerator implements IdentifierGenerator {
+
+    private final Map<Integer, SequenceStyleGenerator> delegates = new ConcurrentHashMap<>();
+
+    private Type type;
+    private Properties params;
+    private ServiceRegistry serviceRegistry;
+    private Database database;
+    private SqlStringGenerationContext context;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        this.type = type;
+        this.params = params;
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        this.database = database;
+        delegate(0);
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        this.context = context;
+        delegates.values().forEach(delegate -> delegate.initialize(context));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = ShardContext.current();
+        long localId = ((Number) delegate(shard).generate(session, object)).longValue();
+        return ShardIds.compose(shard, localId);
+    }
+
+    private SequenceStyleGenerator delegate(int shard) {
+        return delegates.computeIfAbsent(shard, key -> {
+            SequenceStyleGenerator delegate = new SequenceStyleGenerator();
+            delegate.configure(type, params, serviceRegistry);
+            delegate.registerExportables(database);
+            if (context != null) {
+                delegate.initialize(context);
+            }
+            return delegate;
+        });
+    }
+}
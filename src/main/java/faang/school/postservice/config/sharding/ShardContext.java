@@ -0,0 +1,29 @@
+package faang.school.postservice.config.sharding;
+
+/**
+ * Shard of the current thread. Without an explicit shard everything goes to shard 0,
+ * which is also the only shard when sharding is disabled.
+ * Kept static because it is read by {@link ShardAwareSequenceGenerator}, which Hibernate instantiates itself.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    static Integer replace(Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,35 @@
+package faang.school.postservice.config.sharding;
+
+/**
+ * Ids of sharded entities carry the shard number in bits 43-52, so the shard of a post, comment or like
+ * is known from its id alone. Ids of shard 0 are plain sequence values, which keeps ids issued before
+ * sharding valid. All ids stay below 2^53 and survive a round trip through a JavaScript number.
+ */
+public final class ShardIds {
+
+    public static final int MAX_SHARDS = 1024;
+
+    private static final int SHARD_SHIFT = 43;
+    private static final long LOCAL_ID_MASK = (1L << SHARD_SHIFT) - 1;
+
+    private ShardIds() {
+    }
+
+    public static long compose(int shard, long localId) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be in [0, " + MAX_SHARDS + "), got " + shard);
+        }
+        if ((localId & ~LOCAL_ID_MASK) != 0) {
+            throw new IllegalArgumentException("Local id " + localId + " does not fit into " + SHARD_SHIFT + " bits");
+        }
+        return ((long) shard << SHARD_SHIFT) | localId;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SHARD_SHIFT);
+    }
+
+    public static long localIdOf(long id) {
+        return id & LOCAL_ID_MASK;
+    }
+}
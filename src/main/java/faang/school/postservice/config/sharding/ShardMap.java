@@ -0,0 +1,52 @@
+package faang.school.postservice.config.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring over shard numbers. Every shard owns {@code virtualNodes} points on the ring,
+ * so adding a shard moves only about {@code 1 / shardCount} of the keys.
+ */
+public class ShardMap {
+
+    private final int shardCount;
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ShardMap(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > ShardIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be in [1, " + ShardIds.MAX_SHARDS + "]");
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String key) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
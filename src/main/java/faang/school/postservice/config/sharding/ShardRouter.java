@@ -0,0 +1,117 @@
+package faang.school.postservice.config.sharding;
+
+import faang.school.postservice.dto.PostDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard owns a post and runs work against it. Posts live on the shard of their author
+ * or project; comments and likes live next to their post.
+ * <p>
+ * Shards are switched through {@link ShardContext} and the connection is taken lazily, so inside
+ * a {@code @Transactional} method the shard must be selected before the first statement, and a method
+ * that reads several shards must not run in a transaction. For the same reason open-in-view is disabled:
+ * its session would keep the first connection of a request for every later shard.
+ * <p>
+ * Posts created before sharding was enabled stay on shard 0 (their ids carry no shard), so with
+ * {@code legacyShardFallback} listings by author or project read shard 0 as well as the owning shard.
+ */
+public class ShardRouter {
+
+    private final ShardMap shardMap;
+    private final boolean legacyShardFallback;
+
+    public ShardRouter(ShardMap shardMap) {
+        this(shardMap, false);
+    }
+
+    public ShardRouter(ShardMap shardMap, boolean legacyShardFallback) {
+        this.shardMap = shardMap;
+        this.legacyShardFallback = legacyShardFallback;
+    }
+
+    public int shardCount() {
+        return shardMap.getShardCount();
+    }
+
+    public int shardForAuthor(long authorId) {
+        return shardMap.shardFor("author:" + authorId);
+    }
+
+    public int shardForProject(long projectId) {
+        return shardMap.shardFor("project:" + projectId);
+    }
+
+    /**
+     * Shards holding posts of the author: the owning shard and, for pre-sharding posts, shard 0.
+     */
+    public List<Integer> shardsForAuthor(long authorId) {
+        return withLegacyShard(shardForAuthor(authorId));
+    }
+
+    public List<Integer> shardsForProject(long projectId) {
+        return withLegacyShard(shardForProject(projectId));
+    }
+
+    public int shardOf(PostDto postDto) {
+        return postDto.getAuthorId() != null
+                ? shardForAuthor(postDto.getAuthorId())
+                : shardForProject(postDto.getProjectId());
+    }
+
+    public int shardOfId(long id) {
+        return ShardIds.shardOf(id);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.replace(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.replace(previous);
+        }
+    }
+
+    public void onShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reads one page of a listing kept on several shards. Every shard returns its first
+     * {@code offset + size} rows in the given order and the merged result is cut to the requested page;
+     * with a single shard the page is read directly.
+     */
+    public <T> List<T> pageAcross(List<Integer> shards, Pageable pageable, Function<Pageable, List<T>> query,
+                                  Comparator<? super T> order) {
+        if (shards.size() == 1) {
+            return onShard(shards.get(0), () -> query.apply(pageable));
+        }
+        Pageable head = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()));
+        return shards.stream()
+                .flatMap(shard -> onShard(shard, () -> query.apply(head)).stream())
+                .sorted(order)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int current = shard;
+            onShard(current, () -> action.accept(current));
+        }
+    }
+
+    private List<Integer> withLegacyShard(int shard) {
+        return legacyShardFallback && shard != 0 ? List.of(shard, 0) : List.of(shard);
+    }
+}
@@ -0,0 +1,31 @@
+package faang.school.postservice.config.sharding;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Applies the same changelog to every shard, one after another.
+ */
+public class ShardedSpringLiquibase extends SpringLiquibase {
+
+    private final List<? extends DataSource> shards;
+
+    public ShardedSpringLiquibase(List<? extends DataSource> shards) {
+        this.shards = shards;
+    }
+
+    public List<? extends DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        for (DataSource shard : shards) {
+            setDataSource(shard);
+            super.afterPropertiesSet();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package faang.school.postservice.config.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        int shardCount = properties.isEnabled() ? properties.getShards().size() : 1;
+        return new ShardRouter(new ShardMap(shardCount, properties.getVirtualNodes()), properties.isLegacyShardFallback());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(value = "post.sharding.enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        ShardedDataSourceConfig(@Value("${post.datasource.routing.enabled}") boolean replicaRoutingEnabled) {
+            if (replicaRoutingEnabled) {
+                throw new IllegalStateException(
+                        "post.sharding.enabled and post.datasource.routing.enabled cannot be used together");
+            }
+        }
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (int i = 0; i < properties.getShards().size(); i++) {
+                ShardingProperties.Shard shard = properties.getShards().get(i);
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + i);
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                shards.add(dataSource);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        /**
+         * Replaces the auto-configured Liquibase, so {@code spring.liquibase.enabled} is applied here.
+         */
+        @Bean
+        public SpringLiquibase liquibase(ShardRoutingDataSource shardRoutingDataSource,
+                                         @Value("${spring.liquibase.change-log}") String changeLog,
+                                         @Value("${spring.liquibase.enabled:true}") boolean enabled) {
+            ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(shardRoutingDataSource.getShards());
+            liquibase.setChangeLog(changeLog);
+            liquibase.setShouldRun(enabled);
+            return liquibase;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package faang.school.postservice.config.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "post.sharding")
+public class ShardingProperties {
+    private boolean enabled;
+    private int virtualNodes = 128;
+    private boolean legacyShardFallback = true;
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,55 @@
+package faang.school.postservice.config.startup;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 of every file next to and below the master changelog, keyed by path relative to its directory,
+ * so the same changelog gives the same fingerprint from a jar, an exploded jar or a native image.
+ */
+public class ChangelogFingerprint {
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    public String of(String changeLog) {
+        String location = changeLog.startsWith("classpath:") ? changeLog.substring("classpath:".length()) : changeLog;
+        String directory = location.contains("/") ? location.substring(0, location.lastIndexOf('/') + 1) : "";
+        try {
+            Map<String, Resource> files = new TreeMap<>();
+            for (Resource resource : resolver.getResources("classpath*:" + directory + "**/*")) {
+                if (resource.isReadable()) {
+                    String path = resource.getURL().toString();
+                    files.put(path.substring(path.lastIndexOf(directory) + directory.length()), resource);
+                }
+            }
+            if (files.isEmpty()) {
+                throw new IllegalStateException("No changelog files found in classpath:" + directory);
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, Resource> file : files.entrySet()) {
+                digest.update(file.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                try (InputStream in = file.getValue().getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read changelog " + changeLog, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
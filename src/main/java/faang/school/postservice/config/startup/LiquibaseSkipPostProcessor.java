@@ -0,0 +1,63 @@
+package faang.school.postservice.config.startup;
+
+import faang.school.postservice.config.sharding.ShardedSpringLiquibase;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skips Liquibase at startup when every target database already carries the fingerprint of the bundled changelog,
+ * which saves parsing the changelog, taking the changelog lock and comparing checksums on each pod start.
+ * After Liquibase has run, the fingerprint is stored so the next start can skip it.
+ */
+@Slf4j
+public class LiquibaseSkipPostProcessor implements BeanPostProcessor {
+    private final ChangelogFingerprint changelogFingerprint;
+    private final SchemaFingerprintStore store;
+    private final boolean enabled;
+    private final Map<String, String> pendingFingerprints = new ConcurrentHashMap<>();
+
+    public LiquibaseSkipPostProcessor(ChangelogFingerprint changelogFingerprint, SchemaFingerprintStore store,
+                                      boolean enabled) {
+        this.changelogFingerprint = changelogFingerprint;
+        this.store = store;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof SpringLiquibase liquibase)) {
+            return bean;
+        }
+        String fingerprint = changelogFingerprint.of(liquibase.getChangeLog());
+        boolean current = targets(liquibase).stream()
+                .allMatch(dataSource -> store.read(dataSource).filter(fingerprint::equals).isPresent());
+        if (current) {
+            log.info("Schema is current with changelog {}, skipping Liquibase", fingerprint);
+            liquibase.setShouldRun(false);
+        } else {
+            pendingFingerprints.put(beanName, fingerprint);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String fingerprint = pendingFingerprints.remove(beanName);
+        if (fingerprint != null && bean instanceof SpringLiquibase liquibase) {
+            targets(liquibase).forEach(dataSource -> store.write(dataSource, fingerprint));
+        }
+        return bean;
+    }
+
+    private static List<? extends DataSource> targets(SpringLiquibase liquibase) {
+        return liquibase instanceof ShardedSpringLiquibase sharded
+                ? sharded.getShards()
+                : List.of(liquibase.getDataSource());
+    }
+}
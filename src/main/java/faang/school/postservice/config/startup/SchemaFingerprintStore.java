@@ -0,0 +1,39 @@
+package faang.school.postservice.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes the changelog fingerprint last applied to a database, kept in the single row of
+ * {@code schema_fingerprint}.
+ */
+@Slf4j
+public class SchemaFingerprintStore {
+
+    /**
+     * Returns the stored fingerprint, or nothing if there is none yet or it cannot be read, e.g. before the table
+     * is created.
+     */
+    public Optional<String> read(DataSource dataSource) {
+        try {
+            List<String> fingerprints = new JdbcTemplate(dataSource)
+                    .queryForList("SELECT fingerprint FROM schema_fingerprint WHERE id = 1", String.class);
+            return fingerprints.stream().findFirst();
+        } catch (DataAccessException e) {
+            log.debug("Schema fingerprint is not available", e);
+            return Optional.empty();
+        }
+    }
+
+    public void write(DataSource dataSource, String fingerprint) {
+        new JdbcTemplate(dataSource).update("""
+                INSERT INTO schema_fingerprint (id, fingerprint, applied_at) VALUES (1, ?, now())
+                ON CONFLICT (id) DO UPDATE SET fingerprint = excluded.fingerprint, applied_at = excluded.applied_at
+                """, fingerprint);
+    }
+}
@@ -0,0 +1,44 @@
+package faang.school.postservice.config.startup;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Startup time settings. Switches are checked at runtime rather than with conditions, because an AOT-processed
+ * build evaluates conditions once at build time.
+ */
+@Configuration
+@ImportRuntimeHints(StartupConfig.ResourceHints.class)
+public class StartupConfig {
+
+    @Bean
+    public static LiquibaseSkipPostProcessor liquibaseSkipPostProcessor(
+            @Value("${post.startup.liquibase.skip-when-current}") boolean skipWhenCurrent,
+            @Value("${spring.liquibase.enabled:true}") boolean liquibaseEnabled) {
+        return new LiquibaseSkipPostProcessor(new ChangelogFingerprint(), new SchemaFingerprintStore(),
+                skipWhenCurrent && liquibaseEnabled);
+    }
+
+    @Bean
+    public TrainingRunExit trainingRunExit(@Value("${post.startup.training-run}") boolean trainingRun) {
+        return new TrainingRunExit(trainingRun);
+    }
+
+    /**
+     * Classpath files loaded by path, which a native image only contains when they are registered.
+     */
+    static class ResourceHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("scripts/*.lua")
+                    .registerPattern("db/changelog/*")
+                    .registerPattern("db/changelog/changeset/*");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package faang.school.postservice.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Stops the application as soon as it has started when {@code post.startup.training-run} is set, so that
+ * {@code -XX:ArchiveClassesAtExit} can dump the classes loaded during startup into a CDS archive.
+ */
+@Slf4j
+public class TrainingRunExit implements ApplicationListener<ApplicationStartedEvent> {
+    private final boolean trainingRun;
+
+    public TrainingRunExit(boolean trainingRun) {
+        this.trainingRun = trainingRun;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (!trainingRun) {
+            return;
+        }
+        log.info("Training run started in {} ms, exiting", event.getTimeTaken().toMillis());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,21 @@
+package faang.school.postservice.config.web;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter and setter calls with generated lambdas; picked up by Spring Boot's ObjectMapper.
+     * A native image cannot define classes at runtime, so it keeps plain reflection.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule() : new BlackbirdModule();
+    }
+}
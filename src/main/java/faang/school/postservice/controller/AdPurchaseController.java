@@ -0,0 +1,35 @@
+package faang.school.postservice.controller;
+
+import faang.school.postservice.config.ratelimit.RateLimited;
+import faang.school.postservice.dto.ad.AdPurchaseDto;
+import faang.school.postservice.dto.ad.AdPurchaseRequest;
+import faang.school.postservice.service.ad.AdPurchaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ads/purchases")
+public class AdPurchaseController {
+    private final AdPurchaseService adPurchaseService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @RateLimited("ad-purchase")
+    public AdPurchaseDto buyAd(@RequestBody @Validated AdPurchaseRequest request) {
+        return adPurchaseService.submit(request);
+    }
+
+    @GetMapping("/{paymentNumber}")
+    public AdPurchaseDto getPurchase(@PathVariable long paymentNumber) {
+        return adPurchaseService.getPurchase(paymentNumber);
+    }
+}
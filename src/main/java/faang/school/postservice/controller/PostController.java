@@ -1,16 +1,28 @@
 package faang.school.postservice.controller;
 
+import faang.school.postservice.config.ratelimit.RateLimited;
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.draft.DraftDto;
+import faang.school.postservice.dto.draft.DraftRequest;
 import faang.school.postservice.service.PostService;
+import faang.school.postservice.service.etag.ETagged;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
+
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/posts")
@@ -18,17 +30,57 @@ public class PostController {
     private final PostService postService;
 
     @PostMapping
+    @RateLimited("post-write")
     public PostDto crateDraftPost(@RequestBody @Validated PostDto postDto) {
         return postService.createDraftPost(postDto);
     }
 
     @PutMapping("/{id}")
+    @RateLimited("post-write")
     public PostDto publishPost(@PathVariable Long id) {
         return postService.publishPost(id);
     }
 
     @PutMapping
+    @RateLimited("post-write")
     public PostDto updatePost(@RequestBody @Validated PostDto postDto) {
         return postService.updatePost(postDto);
     }
+
+    @PutMapping("/{id}/draft")
+    @RateLimited("post-autosave")
+    public DraftDto autosaveDraft(@PathVariable long id, @RequestBody @Validated DraftRequest draftRequest) {
+        return postService.saveDraft(id, draftRequest.content());
+    }
+
+    @GetMapping("/{id}")
+    public PostDto getPost(@PathVariable long id, WebRequest request) {
+        ETagged<PostDto> post = postService.getPostSnapshot(id);
+        if (request.checkNotModified(post.eTag())) {
+            return null;
+        }
+        return postService.hydrate(post.body());
+    }
+
+    @GetMapping("/author/{authorId}")
+    public List<PostDto> getPostsByAuthor(@PathVariable long authorId,
+                                          @RequestParam(defaultValue = "0") @Min(0) int page,
+                                          @RequestParam(defaultValue = "50") @Min(1) @Max(100) int size,
+                                          WebRequest request) {
+        if (request.checkNotModified(postService.getPostsByAuthorETag(authorId, page, size))) {
+            return null;
+        }
+        return postService.getPostsByAuthor(authorId, page, size);
+    }
+
+    @GetMapping("/project/{projectId}")
+    public List<PostDto> getPostsByProject(@PathVariable long projectId,
+                                           @RequestParam(defaultValue = "0") @Min(0) int page,
+                                           @RequestParam(defaultValue = "50") @Min(1) @Max(100) int size,
+                                           WebRequest request) {
+        if (request.checkNotModified(postService.getPostsByProjectETag(projectId, page, size))) {
+            return null;
+        }
+        return postService.getPostsByProject(projectId, page, size);
+    }
 }
@@ -1,6 +1,10 @@
 package faang.school.postservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import faang.school.postservice.dto.project.ProjectDto;
+import faang.school.postservice.dto.user.UserDto;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +20,7 @@ public class PostDto {
     private Long id;
 
     @NotBlank(message = "Content is required")
+    @Size(max = 4096, message = "Content must not exceed 4096 characters")
     private String content;
 
     private Long authorId;
@@ -24,4 +29,9 @@ public class PostDto {
     private LocalDateTime updatedAt;
     private boolean published;
     private boolean deleted;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private UserDto author;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private ProjectDto project;
 }
@@ -0,0 +1,16 @@
+package faang.school.postservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a post that change whenever its representation does; enough to compute an ETag.
+ */
+public interface PostVersion {
+    long getId();
+
+    LocalDateTime getUpdatedAt();
+
+    boolean isPublished();
+
+    LocalDateTime getPublishedAt();
+}
@@ -0,0 +1,16 @@
+package faang.school.postservice.dto.ad;
+
+import faang.school.postservice.model.ad.AdPurchaseStatus;
+
+import java.time.LocalDateTime;
+
+public record AdPurchaseDto(
+        long paymentNumber,
+        long postId,
+        AdPurchaseStatus status,
+        int attempts,
+        LocalDateTime nextAttemptAt,
+        String lastError,
+        Long adId
+) {
+}
@@ -0,0 +1,29 @@
+package faang.school.postservice.dto.ad;
+
+import faang.school.postservice.dto.payment.Currency;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record AdPurchaseRequest(
+        @NotNull
+        Long paymentNumber,
+
+        @NotNull
+        Long postId,
+
+        @Min(1)
+        @NotNull
+        BigDecimal amount,
+
+        @NotNull
+        Currency currency,
+
+        @Min(1)
+        int appearances,
+
+        @Min(1)
+        int durationDays
+) {
+}
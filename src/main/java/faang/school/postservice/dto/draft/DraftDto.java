@@ -0,0 +1,11 @@
+package faang.school.postservice.dto.draft;
+
+import java.time.LocalDateTime;
+
+public record DraftDto(
+        long postId,
+        String content,
+        long rev,
+        LocalDateTime savedAt
+) {
+}
@@ -0,0 +1,11 @@
+package faang.school.postservice.dto.draft;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record DraftRequest(
+        @NotBlank(message = "Content is required")
+        @Size(max = 4096, message = "Content must not exceed 4096 characters")
+        String content
+) {
+}
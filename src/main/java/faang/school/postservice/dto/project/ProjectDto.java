@@ -6,4 +6,5 @@ import lombok.Data;
 public class ProjectDto {
     private long id;
     private String title;
+    private long ownerId;
 }
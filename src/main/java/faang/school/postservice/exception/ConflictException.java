@@ -0,0 +1,7 @@
+package faang.school.postservice.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package faang.school.postservice.exception;
+
+public class LookupTimeoutException extends RuntimeException {
+    public LookupTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package faang.school.postservice.mapper;
+
+import faang.school.postservice.dto.ad.AdPurchaseDto;
+import faang.school.postservice.model.ad.AdPurchase;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AdPurchaseMapper {
+
+    AdPurchaseDto toDto(AdPurchase adPurchase);
+}
@@ -20,7 +20,8 @@ import java.util.List;
 public class Album {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_id_seq")
+    @SequenceGenerator(name = "album_id_seq", sequenceName = "album_id_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "title", nullable = false, length = 256)
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -20,7 +22,12 @@ import java.util.List;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comment_id_seq")
+    @GenericGenerator(name = "comment_id_seq", strategy = "faang.school.postservice.config.sharding.ShardAwareSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "comment_id_seq"),
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private long id;
 
     @Column(name = "content", nullable = false, length = 4096)
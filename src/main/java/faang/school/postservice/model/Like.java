@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import java.time.LocalDateTime;
 
@@ -18,7 +20,12 @@ import java.time.LocalDateTime;
 public class Like {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "likes_id_seq")
+    @GenericGenerator(name = "likes_id_seq", strategy = "faang.school.postservice.config.sharding.ShardAwareSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "likes_id_seq"),
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private long id;
 
     @Column(name="user_id", nullable = false)
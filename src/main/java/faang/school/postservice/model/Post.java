@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -21,7 +23,12 @@ import java.util.List;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "post_id_seq")
+    @GenericGenerator(name = "post_id_seq", strategy = "faang.school.postservice.config.sharding.ShardAwareSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "post_id_seq"),
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private long id;
 
     @Column(name = "content", nullable = false, length = 4096)
@@ -59,6 +66,9 @@ public class Post {
     @Column(name = "deleted", nullable = false)
     private boolean deleted;
 
+    @Column(name = "draft_version", nullable = false)
+    private long draftVersion;
+
     @CreationTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at")
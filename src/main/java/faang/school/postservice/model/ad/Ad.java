@@ -2,19 +2,24 @@ package faang.school.postservice.model.ad;
 
 import faang.school.postservice.model.Post;
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 @Entity
 @Table(name = "post_ad")
 public class Ad {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_ad_id_seq")
+    @SequenceGenerator(name = "post_ad_id_seq", sequenceName = "post_ad_id_seq", allocationSize = 50)
     private long id;
 
     @OneToOne
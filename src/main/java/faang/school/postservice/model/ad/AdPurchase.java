@@ -0,0 +1,84 @@
+package faang.school.postservice.model.ad;
+
+import faang.school.postservice.dto.payment.Currency;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ad_purchase")
+public class AdPurchase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ad_purchase_id_seq")
+    @SequenceGenerator(name = "ad_purchase_id_seq", sequenceName = "ad_purchase_id_seq", allocationSize = 50)
+    private long id;
+
+    @Column(name = "payment_number", nullable = false, unique = true)
+    private long paymentNumber;
+
+    @Column(name = "post_id", nullable = false)
+    private long postId;
+
+    @Column(name = "buyer_id", nullable = false)
+    private long buyerId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency", nullable = false)
+    private Currency currency;
+
+    @Column(name = "appearances", nullable = false)
+    private int appearances;
+
+    @Column(name = "duration_days", nullable = false)
+    private int durationDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AdPurchaseStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "lease_owner")
+    private UUID leaseOwner;
+
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    @Column(name = "ad_id")
+    private Long adId;
+
+    @CreationTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package faang.school.postservice.model.ad;
+
+import faang.school.postservice.dto.payment.Currency;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A payment number claimed by an ad purchase, kept on shard 0 so that payment numbers are unique across shards.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ad_purchase_key")
+public class AdPurchaseKey {
+
+    @Id
+    @Column(name = "payment_number")
+    private long paymentNumber;
+
+    @Column(name = "post_id", nullable = false)
+    private long postId;
+
+    @Column(name = "buyer_id", nullable = false)
+    private long buyerId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency", nullable = false)
+    private Currency currency;
+
+    @Column(name = "appearances", nullable = false)
+    private int appearances;
+
+    @Column(name = "duration_days", nullable = false)
+    private int durationDays;
+}
@@ -0,0 +1,8 @@
+package faang.school.postservice.model.ad;
+
+/**
+ * {@code PAID} purchases were charged but have no ad yet; they are completed again without another payment.
+ */
+public enum AdPurchaseStatus {
+    PENDING, PROCESSING, PAID, SUCCEEDED, FAILED
+}
@@ -1,11 +1,14 @@
 package faang.school.postservice.repository;
 
+import faang.school.postservice.dto.PostVersion;
 import faang.school.postservice.model.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends CrudRepository<Post, Long> {
@@ -20,6 +23,23 @@ public interface PostRepository extends CrudRepository<Post, Long> {
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.authorId = :authorId")
     List<Post> findByAuthorIdWithLikes(long authorId);
 
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.ad WHERE p.authorId = :authorId AND p.published = true AND p.deleted = false ORDER BY p.publishedAt DESC")
+    List<Post> findPublishedByAuthorId(long authorId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.ad WHERE p.projectId = :projectId AND p.published = true AND p.deleted = false ORDER BY p.publishedAt DESC")
+    List<Post> findPublishedByProjectId(long projectId, Pageable pageable);
+
+    @Query("SELECT p.draftVersion FROM Post p WHERE p.id = :id")
+    Optional<Long> findDraftVersionById(long id);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt, p.published AS published, p.publishedAt AS publishedAt FROM Post p " +
+            "WHERE p.authorId = :authorId AND p.published = true AND p.deleted = false ORDER BY p.publishedAt DESC")
+    List<PostVersion> findPublishedVersionsByAuthorId(long authorId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt, p.published AS published, p.publishedAt AS publishedAt FROM Post p " +
+            "WHERE p.projectId = :projectId AND p.published = true AND p.deleted = false ORDER BY p.publishedAt DESC")
+    List<PostVersion> findPublishedVersionsByProjectId(long projectId, Pageable pageable);
+
     @Query("SELECT p FROM Post p WHERE p.published = false AND p.deleted = false AND p.scheduledAt <= CURRENT_TIMESTAMP")
     List<Post> findReadyToPublish();
 }
@@ -0,0 +1,30 @@
+package faang.school.postservice.repository.ad;
+
+import faang.school.postservice.model.ad.AdPurchaseKey;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface AdPurchaseKeyRepository extends CrudRepository<AdPurchaseKey, Long> {
+
+    /**
+     * Claims the payment number unless it is already claimed. Runs in its own transaction, because
+     * the key lives on shard 0 and the purchase itself on the shard of its post.
+     *
+     * @return 1 if the payment number was claimed, 0 if it already was
+     */
+    @Query(nativeQuery = true, value = """
+            INSERT INTO ad_purchase_key (payment_number, post_id, buyer_id, amount, currency, appearances, duration_days)
+            VALUES (:paymentNumber, :postId, :buyerId, :amount, :currency, :appearances, :durationDays)
+            ON CONFLICT (payment_number) DO NOTHING
+            """)
+    @Modifying
+    @Transactional
+    int insertIfAbsent(long paymentNumber, long postId, long buyerId, BigDecimal amount, String currency,
+                       int appearances, int durationDays);
+}
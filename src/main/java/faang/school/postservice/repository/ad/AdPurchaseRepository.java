@@ -0,0 +1,51 @@
+package faang.school.postservice.repository.ad;
+
+import faang.school.postservice.model.ad.AdPurchase;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AdPurchaseRepository extends CrudRepository<AdPurchase, Long> {
+
+    Optional<AdPurchase> findByPaymentNumber(long paymentNumber);
+
+    /**
+     * Inserts a pending purchase unless one with the same payment number exists.
+     *
+     * @return 1 if the purchase was inserted, 0 if it already existed
+     */
+    @Query(nativeQuery = true, value = """
+            INSERT INTO ad_purchase (payment_number, post_id, buyer_id, amount, currency, appearances, duration_days, status)
+            VALUES (:paymentNumber, :postId, :buyerId, :amount, :currency, :appearances, :durationDays, 'PENDING')
+            ON CONFLICT (payment_number) DO NOTHING
+            """)
+    @Modifying
+    @Transactional
+    int insertIfAbsent(long paymentNumber, long postId, long buyerId, BigDecimal amount, String currency,
+                       int appearances, int durationDays);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM ad_purchase WHERE id = :id FOR UPDATE")
+    Optional<AdPurchase> findByIdForUpdate(long id);
+
+    /**
+     * Pending and paid purchases that are due, and purchases whose worker lease expired. Rows locked by
+     * other instances are skipped. Must be called inside a read-write transaction.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM ad_purchase
+            WHERE (status = 'PENDING' AND next_attempt_at <= now())
+               OR (status = 'PROCESSING' AND locked_until < now())
+               OR (status = 'PAID' AND next_attempt_at <= now() AND (locked_until IS NULL OR locked_until < now()))
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<AdPurchase> findReadyForProcessing(int limit);
+}
@@ -0,0 +1,154 @@
+package faang.school.postservice.repository.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern LIKES_PARTITION = Pattern.compile("likes_(\\d{4})_(\\d{2})");
+
+    private static final String POST_COLUMNS =
+            "id, content, author_id, project_id, published, published_at, scheduled_at, deleted, draft_version, created_at, updated_at";
+    private static final String COMMENT_COLUMNS = "id, content, author_id, post_id, created_at, updated_at";
+    private static final String LIKES_COLUMNS = "id, post_id, comment_id, user_id, created_at, updated_at";
+    private static final String POST_ALBUM_COLUMNS = "id, post_id, album_id, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves one batch of soft-deleted posts to {@code post_archive}, together with their comments, post_album rows
+     * and the likes of the posts and their comments, which would otherwise be removed by the
+     * {@code ON DELETE CASCADE} foreign keys. Posts with an ad or an ad purchase are kept.
+     * The posts are locked first, so the copy sees every dependent row committed before the lock and later
+     * inserts wait for the delete and then fail their foreign key check.
+     *
+     * @return number of archived posts
+     */
+    @Transactional
+    public int archiveDeletedPosts(LocalDateTime deletedBefore, int batchSize) {
+        List<Long> ids = jdbcTemplate.queryForList("""
+                SELECT p.id FROM post p
+                WHERE p.deleted AND p.updated_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM post_ad a WHERE a.post_id = p.id)
+                  AND NOT EXISTS (SELECT 1 FROM ad_purchase ap WHERE ap.post_id = p.id)
+                ORDER BY p.id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, Long.class, deletedBefore, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                WITH archived_likes AS (
+                    INSERT INTO archived_post_likes (%2$s)
+                    SELECT %2$s FROM likes
+                    WHERE post_id = ANY (?)
+                       OR comment_id IN (SELECT c.id FROM comment c WHERE c.post_id = ANY (?))
+                ), archived_comments AS (
+                    INSERT INTO comment_archive (%3$s)
+                    SELECT %3$s FROM comment WHERE post_id = ANY (?)
+                ), archived_albums AS (
+                    INSERT INTO post_album_archive (%4$s)
+                    SELECT %4$s FROM post_album WHERE post_id = ANY (?)
+                ), moved AS (
+                    DELETE FROM post WHERE id = ANY (?)
+                    RETURNING %1$s
+                )
+                INSERT INTO post_archive (%1$s)
+                SELECT %1$s FROM moved
+                """.formatted(POST_COLUMNS, LIKES_COLUMNS, COMMENT_COLUMNS, POST_ALBUM_COLUMNS), statement -> {
+            Array batch = statement.getConnection().createArrayOf("bigint", ids.toArray());
+            for (int i = 1; i <= 5; i++) {
+                statement.setArray(i, batch);
+            }
+        });
+    }
+
+    /**
+     * Creates the monthly partition of {@code likes}. Likes of that month that already landed in
+     * {@code likes_default} are moved into the new partition before it is attached.
+     */
+    @Transactional
+    public void createLikesPartition(YearMonth month) {
+        String partition = likesPartitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.execute("CREATE TABLE %s (LIKE likes INCLUDING DEFAULTS)".formatted(partition));
+        jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM likes_default WHERE created_at >= ?::timestamptz AND created_at < ?::timestamptz
+                    RETURNING %1$s
+                )
+                INSERT INTO %2$s (%1$s) SELECT %1$s FROM moved
+                """.formatted(LIKES_COLUMNS, partition), from, to);
+        jdbcTemplate.execute("ALTER TABLE likes ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partition, from, to));
+    }
+
+    /**
+     * Detaches the monthly partition from {@code likes} and attaches it to {@code likes_archive}.
+     * Both are catalog-only operations, no rows are copied. The foreign keys the partition inherited from
+     * {@code likes} are dropped, so archiving or deleting a post later does not cascade into the archive.
+     * An advisory lock on the partition keeps two instances from moving it at the same time.
+     *
+     * @return false if another instance holds the lock or the partition is no longer attached to {@code likes}
+     */
+    @Transactional
+    public boolean archiveLikesPartition(YearMonth month) {
+        String partition = likesPartitionName(month);
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, "archive:" + partition);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        Boolean attached = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = 'likes'::regclass)
+                """, Boolean.class, partition);
+        if (!Boolean.TRUE.equals(attached)) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE likes DETACH PARTITION " + partition);
+        jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                        String.class, partition)
+                .forEach(constraint -> jdbcTemplate.execute(
+                        "ALTER TABLE %s DROP CONSTRAINT \"%s\"".formatted(partition, constraint)));
+        jdbcTemplate.execute("ALTER TABLE likes_archive ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+        return true;
+    }
+
+    public List<YearMonth> findLikesPartitions() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = 'likes'
+                        """, String.class).stream()
+                .map(LIKES_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    private String likesPartitionName(YearMonth month) {
+        return "likes_" + month.format(PARTITION_SUFFIX);
+    }
+}
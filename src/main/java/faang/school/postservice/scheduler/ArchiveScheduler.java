@@ -0,0 +1,97 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.repository.archive.ArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchiveScheduler {
+
+    private final ArchiveRepository archiveRepository;
+    private final ShardRouter shardRouter;
+
+    @Value("${post.archiver.deleted-post-retention-days}")
+    private int deletedPostRetentionDays;
+
+    @Value("${post.archiver.batch-size}")
+    private int batchSize;
+
+    @Value("${post.archiver.likes.partitions-ahead}")
+    private int likesPartitionsAhead;
+
+    @Value("${post.archiver.likes.retention-months}")
+    private int likesRetentionMonths;
+
+    /**
+     * Runs every step on each shard; a failed step is logged and does not stop the other steps or shards.
+     */
+    @Scheduled(cron = "${post.archiver.scheduler.cron}")
+    public void archive() {
+        shardRouter.forEachShard(shard -> {
+            createLikesPartitions();
+            try {
+                archiveDeletedPosts();
+            } catch (DataAccessException e) {
+                log.error("Failed to archive deleted posts on shard {}", shard, e);
+            }
+            archiveLikesPartitions(shard);
+        });
+    }
+
+    private void createLikesPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= likesPartitionsAhead; i++) {
+            try {
+                archiveRepository.createLikesPartition(current.plusMonths(i));
+            } catch (DataAccessException e) {
+                log.error("Failed to create likes partition for {}", current.plusMonths(i), e);
+            }
+        }
+    }
+
+    private void archiveDeletedPosts() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minusDays(deletedPostRetentionDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveRepository.archiveDeletedPosts(deletedBefore, batchSize);
+            total += archived;
+        } while (archived == batchSize);
+        log.info("Archived {} posts deleted before {}", total, deletedBefore);
+    }
+
+    private void archiveLikesPartitions(int shard) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(likesRetentionMonths);
+        List<YearMonth> partitions;
+        try {
+            partitions = archiveRepository.findLikesPartitions();
+        } catch (DataAccessException e) {
+            log.error("Failed to list likes partitions on shard {}", shard, e);
+            return;
+        }
+        partitions.stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .forEach(month -> {
+                    try {
+                        if (archiveRepository.archiveLikesPartition(month)) {
+                            log.info("Moved likes partition {} to likes_archive on shard {}", month, shard);
+                        } else {
+                            log.info("Likes partition {} on shard {} is archived by another instance", month, shard);
+                        }
+                    } catch (DataAccessException e) {
+                        log.error("Failed to archive likes partition {} on shard {}", month, shard, e);
+                    }
+                });
+    }
+}
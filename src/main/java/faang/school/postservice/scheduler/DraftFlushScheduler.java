@@ -0,0 +1,61 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.dto.draft.DraftDto;
+import faang.school.postservice.service.PostService;
+import faang.school.postservice.service.draft.DraftBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes autosaved drafts to the database once their editors have been idle for {@code post.draft.idle-flush-after},
+ * so a burst of autosaves costs a single update.
+ */
+@Slf4j
+@Component
+public class DraftFlushScheduler {
+
+    private final PostService postService;
+    private final DraftBuffer draftBuffer;
+    private final Duration idleFlushAfter;
+    private final Duration flushLease;
+    private final int batchSize;
+
+    public DraftFlushScheduler(PostService postService,
+                               DraftBuffer draftBuffer,
+                               @Value("${post.draft.idle-flush-after}") Duration idleFlushAfter,
+                               @Value("${post.draft.flush-lease}") Duration flushLease,
+                               @Value("${post.draft.flush-batch-size}") int batchSize) {
+        this.postService = postService;
+        this.draftBuffer = draftBuffer;
+        this.idleFlushAfter = idleFlushAfter;
+        this.flushLease = flushLease;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${post.draft.flush-interval-ms}")
+    public void flushIdleDrafts() {
+        List<Long> postIds = draftBuffer.claimIdle(idleFlushAfter, flushLease, batchSize);
+        for (long postId : postIds) {
+            try {
+                Optional<DraftDto> draft = draftBuffer.find(postId);
+                if (draft.isEmpty()) {
+                    draftBuffer.discard(postId);
+                    continue;
+                }
+                postService.applyDraft(draft.get());
+                draftBuffer.release(postId, draft.get().rev());
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush draft of post {}, it will be retried", postId, e);
+            }
+        }
+        if (!postIds.isEmpty()) {
+            log.debug("Flushed {} idle drafts", postIds.size());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.service.PostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostPublisherScheduler {
+
+    private final PostService postService;
+    private final ShardRouter shardRouter;
+
+    @Scheduled(cron = "${post.publisher.scheduler.cron}")
+    public void publishScheduledPosts() {
+        shardRouter.forEachShard(shard -> {
+            int published = postService.publishScheduledPosts();
+            if (published > 0) {
+                log.info("Published {} scheduled posts on shard {}", published, shard);
+            }
+        });
+    }
+}
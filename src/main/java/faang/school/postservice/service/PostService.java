@@ -1,27 +1,57 @@
 package faang.school.postservice.service;
 
-import faang.school.postservice.client.ProjectServiceClient;
-import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.cache.PostCache;
+import faang.school.postservice.client.batch.ProjectLookupBatcher;
+import faang.school.postservice.client.batch.UserLookupBatcher;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardRouter;
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostVersion;
+import faang.school.postservice.dto.draft.DraftDto;
+import faang.school.postservice.dto.project.ProjectDto;
 import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.exception.EntityNotFoundException;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.model.Post;
 import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.draft.DraftBuffer;
+import faang.school.postservice.service.etag.ETagged;
+import faang.school.postservice.service.etag.PostETags;
+import faang.school.postservice.service.hydration.PostHydrator;
 import feign.FeignException;
+import feign.RetryableException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostService {
+    private static final Comparator<Post> POSTS_BY_PUBLISHED_AT =
+            Comparator.comparing(Post::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+    private static final Comparator<PostVersion> VERSIONS_BY_PUBLISHED_AT =
+            Comparator.comparing(PostVersion::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
     private final PostRepository postRepository;
     private final PostMapper postMapper;
-    private final UserServiceClient userServiceClient;
-    private final ProjectServiceClient projectServiceClient;
+    private final UserLookupBatcher userLookupBatcher;
+    private final ProjectLookupBatcher projectLookupBatcher;
+    private final PostHydrator postHydrator;
+    private final ShardRouter shardRouter;
+    private final DraftBuffer draftBuffer;
+    private final PostCache postCache;
+    private final UserContext userContext;
 
     @Transactional
     public PostDto createDraftPost(PostDto postDto) {
@@ -30,32 +60,161 @@ public class PostService {
 
         Post post = postMapper.toEntity(postDto);
 
-        return postMapper.toDto(postRepository.save(post));
+        return shardRouter.onShard(shardRouter.shardOf(postDto),
+                () -> postMapper.toDto(postRepository.save(post)));
     }
 
     @Transactional
     public PostDto publishPost(Long id) {
-        Post post = validatePostExist(id);
+        return shardRouter.onShard(shardRouter.shardOfId(id), () -> {
+            Post post = validatePostExist(id);
 
-        if (post.isPublished() || post.isDeleted()) {
-            throw new DataValidationException("Post is already published or deleted");
-        }
+            if (post.isPublished() || post.isDeleted()) {
+                throw new DataValidationException("Post is already published or deleted");
+            }
 
-        post.setPublished(true);
-        post.setPublishedAt(LocalDateTime.now());
-        return postMapper.toDto(post);
+            applyBufferedDraft(post);
+            post.setPublished(true);
+            post.setPublishedAt(LocalDateTime.now());
+            afterCommit(() -> postCache.evict(id));
+            return postMapper.toDto(post);
+        });
     }
 
     @Transactional
     public PostDto updatePost(PostDto postDto) {
         validateIdPostDto(postDto);
         validateAuthorExist(postDto);
-        Post post = validatePostExist(postDto.getId());
 
-        post.setContent(postDto.getContent());
-        post.setUpdatedAt(LocalDateTime.now());
+        return shardRouter.onShard(shardRouter.shardOfId(postDto.getId()), () -> {
+            Post post = validatePostExist(postDto.getId());
+
+            post.setContent(postDto.getContent());
+            post.setUpdatedAt(LocalDateTime.now());
+            post.setDraftVersion(Math.max(post.getDraftVersion(), draftBuffer.findRevision(post.getId())) + 1);
+            afterCommit(() -> draftBuffer.discard(post.getId()));
+            afterCommit(() -> postCache.evict(post.getId()));
+
+            return postMapper.toDto(post);
+        });
+    }
+
+    /**
+     * Autosaves a draft into {@link DraftBuffer} without touching the database; the buffered content is written
+     * by {@link faang.school.postservice.scheduler.DraftFlushScheduler} once the editor goes idle, or on publish.
+     * If Redis is unavailable, the draft is written to the database right away.
+     */
+    public DraftDto saveDraft(long postId, String content) {
+        long draftVersion = shardRouter.onShard(shardRouter.shardOfId(postId),
+                        () -> postRepository.findDraftVersionById(postId))
+                .orElseThrow(() -> new EntityNotFoundException("Post with the specified id does not exist"));
+        try {
+            return draftBuffer.save(postId, content, draftVersion);
+        } catch (DataAccessException e) {
+            log.warn("Failed to buffer draft of post {}, saving it directly", postId, e);
+            DraftDto draft = new DraftDto(postId, content, draftVersion + 1, LocalDateTime.now());
+            applyDraft(draft);
+            return draft;
+        }
+    }
+
+    /**
+     * Writes buffered draft content unless the post was published or deleted, or already has content of the same
+     * or a later revision.
+     */
+    @Transactional
+    public void applyDraft(DraftDto draft) {
+        shardRouter.onShard(shardRouter.shardOfId(draft.postId()), () -> postRepository.findById(draft.postId())
+                .filter(post -> !post.isPublished() && !post.isDeleted())
+                .filter(post -> draft.rev() > post.getDraftVersion())
+                .ifPresent(post -> {
+                    post.setContent(draft.content());
+                    post.setDraftVersion(draft.rev());
+                    postRepository.save(post);
+                    afterCommit(() -> postCache.evict(post.getId()));
+                }));
+    }
+
+    /**
+     * Returns the post; a draft is returned with its latest autosaved content, and only to its author or the owner
+     * of its project. Deleted posts and drafts of other users are reported as missing.
+     */
+    public PostDto getPost(long id) {
+        return hydrate(getPostSnapshot(id).body());
+    }
+
+    /**
+     * Returns the post as {@link #getPost} serves it, but not yet hydrated, with an ETag computed from this snapshot,
+     * so the tag always matches the body even when the body comes from the cache.
+     */
+    public ETagged<PostDto> getPostSnapshot(long id) {
+        PostDto post = postCache.get(id).orElseGet(() -> {
+            PostDto loaded = shardRouter.onShard(shardRouter.shardOfId(id), () -> postMapper.toDto(validatePostExist(id)));
+            postCache.put(loaded);
+            return loaded;
+        });
+        if (post.isDeleted() || (!post.isPublished() && !isOwnedByCaller(post))) {
+            throw new EntityNotFoundException("Post with the specified id does not exist");
+        }
+        long draftRevision = 0;
+        if (!post.isPublished()) {
+            Optional<DraftDto> draft = draftBuffer.find(id);
+            if (draft.isPresent()) {
+                post.setContent(draft.get().content());
+                post.setUpdatedAt(draft.get().savedAt());
+                draftRevision = draft.get().rev();
+            }
+        }
+        return new ETagged<>(post, PostETags.of(post, draftRevision));
+    }
+
+    public PostDto hydrate(PostDto post) {
+        return postHydrator.hydrate(List.of(post)).get(0);
+    }
+
+    public String getPostsByAuthorETag(long authorId, int page, int size) {
+        List<PostVersion> versions = shardRouter.pageAcross(shardRouter.shardsForAuthor(authorId), PageRequest.of(page, size),
+                pageable -> postRepository.findPublishedVersionsByAuthorId(authorId, pageable), VERSIONS_BY_PUBLISHED_AT);
+        return PostETags.of(versions, page, size);
+    }
 
-        return postMapper.toDto(post);
+    public String getPostsByProjectETag(long projectId, int page, int size) {
+        List<PostVersion> versions = shardRouter.pageAcross(shardRouter.shardsForProject(projectId), PageRequest.of(page, size),
+                pageable -> postRepository.findPublishedVersionsByProjectId(projectId, pageable), VERSIONS_BY_PUBLISHED_AT);
+        return PostETags.of(versions, page, size);
+    }
+
+    /**
+     * Publishes scheduled posts of the current shard, see {@link faang.school.postservice.scheduler.PostPublisherScheduler}.
+     */
+    @Transactional
+    public int publishScheduledPosts() {
+        List<Post> posts = postRepository.findReadyToPublish();
+        LocalDateTime now = LocalDateTime.now();
+        posts.forEach(post -> {
+            applyBufferedDraft(post);
+            post.setPublished(true);
+            post.setPublishedAt(now);
+        });
+        List<Long> ids = posts.stream().map(Post::getId).toList();
+        afterCommit(() -> postCache.evictAll(ids));
+        return posts.size();
+    }
+
+    public List<PostDto> getPostsByAuthor(long authorId, int page, int size) {
+        List<PostDto> posts = shardRouter.pageAcross(shardRouter.shardsForAuthor(authorId), PageRequest.of(page, size),
+                        pageable -> postRepository.findPublishedByAuthorId(authorId, pageable), POSTS_BY_PUBLISHED_AT).stream()
+                .map(postMapper::toDto)
+                .toList();
+        return postHydrator.hydrate(posts);
+    }
+
+    public List<PostDto> getPostsByProject(long projectId, int page, int size) {
+        List<PostDto> posts = shardRouter.pageAcross(shardRouter.shardsForProject(projectId), PageRequest.of(page, size),
+                        pageable -> postRepository.findPublishedByProjectId(projectId, pageable), POSTS_BY_PUBLISHED_AT).stream()
+                .map(postMapper::toDto)
+                .toList();
+        return postHydrator.hydrate(posts);
     }
 
     private void validateIdPostDto(PostDto postDto) {
@@ -68,19 +227,71 @@ public class PostService {
     private void validateAuthorExist(PostDto postDto) {
         if (postDto.getAuthorId() != null) {
             try {
-                userServiceClient.getUser(postDto.getAuthorId());
+                if (userLookupBatcher.getUser(postDto.getAuthorId()) == null) {
+                    throw new EntityNotFoundException("User with the specified authorId does not exist");
+                }
+            } catch (RetryableException e) {
+                throw e;
             } catch (FeignException e) {
                 throw new EntityNotFoundException("User with the specified authorId does not exist");
             }
         } else if (postDto.getProjectId() != null) {
             try {
-                projectServiceClient.getProject(postDto.getProjectId());
+                if (projectLookupBatcher.getProject(postDto.getProjectId()) == null) {
+                    throw new EntityNotFoundException("Project with the specified projectId does not exist");
+                }
+            } catch (RetryableException e) {
+                throw e;
             } catch (FeignException e) {
                 throw new EntityNotFoundException("Project with the specified projectId does not exist");
             }
         }
     }
 
+    private boolean isOwnedByCaller(PostDto post) {
+        if (!userContext.hasUserId()) {
+            return false;
+        }
+        long userId = userContext.getUserId();
+        if (post.getAuthorId() != null) {
+            return post.getAuthorId() == userId;
+        }
+        try {
+            ProjectDto project = projectLookupBatcher.getProject(post.getProjectId());
+            return project != null && project.getOwnerId() == userId;
+        } catch (RetryableException e) {
+            throw e;
+        } catch (FeignException e) {
+            return false;
+        }
+    }
+
+    private void applyBufferedDraft(Post post) {
+        draftBuffer.find(post.getId())
+                .filter(draft -> draft.rev() > post.getDraftVersion())
+                .ifPresent(draft -> {
+                    post.setContent(draft.content());
+                    post.setDraftVersion(draft.rev());
+                });
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away outside of a transaction. Cache evictions
+     * go through here: evicted before the commit, a post could be cached again by a read of the old row.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Post validatePostExist(Long id) {
         return postRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Post with the specified id does not exist"));
@@ -0,0 +1,212 @@
+package faang.school.postservice.service.ad;
+
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.dto.ad.AdPurchaseDto;
+import faang.school.postservice.dto.ad.AdPurchaseRequest;
+import faang.school.postservice.exception.ConflictException;
+import faang.school.postservice.exception.DataValidationException;
+import faang.school.postservice.exception.EntityNotFoundException;
+import faang.school.postservice.mapper.AdPurchaseMapper;
+import faang.school.postservice.model.Post;
+import faang.school.postservice.model.ad.Ad;
+import faang.school.postservice.model.ad.AdPurchase;
+import faang.school.postservice.model.ad.AdPurchaseKey;
+import faang.school.postservice.model.ad.AdPurchaseStatus;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.repository.ad.AdPurchaseKeyRepository;
+import faang.school.postservice.repository.ad.AdPurchaseRepository;
+import faang.school.postservice.repository.ad.AdRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ad purchases are queued in {@code ad_purchase} and paid for by {@link AdPurchaseWorker},
+ * so a slow payment-service never holds a request thread. The payment number is the idempotency key:
+ * it is claimed in {@code ad_purchase_key} on shard 0, submitting the same purchase again returns
+ * the existing one, and retries send the same payment number.
+ * <p>
+ * A claimed purchase belongs to the worker whose token is in {@code lease_owner}; updates from a worker
+ * that lost its lease are ignored.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdPurchaseService {
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final int KEY_SHARD = 0;
+    private static final Duration PAID_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final AdPurchaseRepository adPurchaseRepository;
+    private final AdPurchaseKeyRepository adPurchaseKeyRepository;
+    private final AdRepository adRepository;
+    private final PostRepository postRepository;
+    private final AdPurchaseMapper adPurchaseMapper;
+    private final UserContext userContext;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Not transactional: the payment number is claimed on shard 0 and the purchase is queued on the shard
+     * of its post, each in its own transaction. If queueing fails, submitting the same purchase again
+     * finds the claimed payment number and queues it.
+     */
+    public AdPurchaseDto submit(AdPurchaseRequest request) {
+        if (!userContext.hasUserId()) {
+            throw new DataValidationException("x-user-id header is required to buy an ad");
+        }
+        long buyerId = userContext.getUserId();
+        int postShard = shardRouter.shardOfId(request.postId());
+
+        if (!shardRouter.onShard(postShard, () -> postRepository.existsById(request.postId()))) {
+            throw new EntityNotFoundException("Post with the specified id does not exist");
+        }
+        shardRouter.onShard(KEY_SHARD, () -> claimPaymentNumber(request, buyerId));
+
+        return shardRouter.onShard(postShard, () -> {
+            adPurchaseRepository.insertIfAbsent(request.paymentNumber(), request.postId(), buyerId, request.amount(),
+                    request.currency().name(), request.appearances(), request.durationDays());
+            return adPurchaseMapper.toDto(getByPaymentNumber(request.paymentNumber()));
+        });
+    }
+
+    /**
+     * Returns the purchase to its buyer only; other callers are told it does not exist.
+     */
+    public AdPurchaseDto getPurchase(long paymentNumber) {
+        if (!userContext.hasUserId()) {
+            throw new DataValidationException("x-user-id header is required to view an ad purchase");
+        }
+        long callerId = userContext.getUserId();
+        AdPurchaseKey key = shardRouter.onShard(KEY_SHARD, () -> adPurchaseKeyRepository.findById(paymentNumber))
+                .filter(found -> found.getBuyerId() == callerId)
+                .orElseThrow(() -> new EntityNotFoundException("Ad purchase with the specified payment number does not exist"));
+        return shardRouter.onShard(shardRouter.shardOfId(key.getPostId()),
+                () -> adPurchaseMapper.toDto(getByPaymentNumber(paymentNumber)));
+    }
+
+    /**
+     * Leases up to {@code limit} due purchases of the current shard for {@code lease} and counts the attempt.
+     * Each purchase gets a new {@code leaseOwner} token that the worker passes back.
+     */
+    @Transactional
+    public List<AdPurchase> claim(int limit, Duration lease) {
+        List<AdPurchase> purchases = adPurchaseRepository.findReadyForProcessing(limit);
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(lease);
+        purchases.forEach(purchase -> {
+            if (purchase.getStatus() != AdPurchaseStatus.PAID) {
+                purchase.setStatus(AdPurchaseStatus.PROCESSING);
+            }
+            purchase.setLockedUntil(lockedUntil);
+            purchase.setLeaseOwner(UUID.randomUUID());
+            purchase.setAttempts(purchase.getAttempts() + 1);
+        });
+        return purchases;
+    }
+
+    /**
+     * Records a successful payment, so the purchase is never charged again.
+     *
+     * @return false if the lease was lost and the purchase now belongs to another worker
+     */
+    @Transactional
+    public boolean markPaid(long purchaseId, UUID leaseOwner) {
+        AdPurchase purchase = getByIdForUpdate(purchaseId);
+        if (purchase.getStatus() != AdPurchaseStatus.PROCESSING || !leaseOwner.equals(purchase.getLeaseOwner())) {
+            return false;
+        }
+        purchase.setStatus(AdPurchaseStatus.PAID);
+        return true;
+    }
+
+    /**
+     * Creates the ad of a paid purchase, or adds the purchase to the ad the post already has: a running ad keeps
+     * its buyer and gets the appearances and days on top of what is left, an expired one starts over.
+     * Does nothing if the purchase is already complete or the lease was lost.
+     */
+    @Transactional
+    public void complete(long purchaseId, UUID leaseOwner) {
+        AdPurchase purchase = getByIdForUpdate(purchaseId);
+        if (purchase.getStatus() != AdPurchaseStatus.PAID || !leaseOwner.equals(purchase.getLeaseOwner())) {
+            return;
+        }
+        Post post = postRepository.findById(purchase.getPostId())
+                .orElseThrow(() -> new EntityNotFoundException("Post with the specified id does not exist"));
+
+        LocalDateTime now = LocalDateTime.now();
+        Ad ad = adRepository.findByPostId(post.getId()).orElseGet(() -> Ad.builder().post(post).build());
+        if (ad.getEndDate() != null && ad.getEndDate().isAfter(now) && ad.getAppearancesLeft() > 0) {
+            ad.setAppearancesLeft(ad.getAppearancesLeft() + purchase.getAppearances());
+            ad.setEndDate(ad.getEndDate().plusDays(purchase.getDurationDays()));
+        } else {
+            ad.setBuyerId(purchase.getBuyerId());
+            ad.setAppearancesLeft(purchase.getAppearances());
+            ad.setStartDate(now);
+            ad.setEndDate(now.plusDays(purchase.getDurationDays()));
+        }
+        ad = adRepository.save(ad);
+
+        purchase.setStatus(AdPurchaseStatus.SUCCEEDED);
+        purchase.setAdId(ad.getId());
+        purchase.setLockedUntil(null);
+        purchase.setLeaseOwner(null);
+        purchase.setLastError(null);
+    }
+
+    /**
+     * Records a failed attempt. The purchase is retried after {@code retryIn}, or fails for good if it is {@code null}.
+     * A paid purchase never fails: it stays paid and its completion is retried.
+     */
+    @Transactional
+    public void fail(long purchaseId, UUID leaseOwner, String error, Duration retryIn) {
+        AdPurchase purchase = getByIdForUpdate(purchaseId);
+        if (!leaseOwner.equals(purchase.getLeaseOwner())) {
+            return;
+        }
+        if (purchase.getStatus() == AdPurchaseStatus.PAID) {
+            purchase.setNextAttemptAt(LocalDateTime.now().plus(retryIn != null ? retryIn : PAID_RETRY_DELAY));
+        } else if (purchase.getStatus() != AdPurchaseStatus.PROCESSING) {
+            return;
+        } else if (retryIn != null) {
+            purchase.setStatus(AdPurchaseStatus.PENDING);
+            purchase.setNextAttemptAt(LocalDateTime.now().plus(retryIn));
+        } else {
+            purchase.setStatus(AdPurchaseStatus.FAILED);
+        }
+        purchase.setLockedUntil(null);
+        purchase.setLeaseOwner(null);
+        purchase.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error);
+    }
+
+    private void claimPaymentNumber(AdPurchaseRequest request, long buyerId) {
+        adPurchaseKeyRepository.insertIfAbsent(request.paymentNumber(), request.postId(), buyerId, request.amount(),
+                request.currency().name(), request.appearances(), request.durationDays());
+        AdPurchaseKey key = adPurchaseKeyRepository.findById(request.paymentNumber())
+                .orElseThrow(() -> new IllegalStateException("Payment number " + request.paymentNumber() + " was not claimed"));
+        boolean samePurchase = key.getPostId() == request.postId()
+                && key.getBuyerId() == buyerId
+                && key.getAmount().compareTo(request.amount()) == 0
+                && key.getCurrency() == request.currency()
+                && key.getAppearances() == request.appearances()
+                && key.getDurationDays() == request.durationDays();
+        if (!samePurchase) {
+            throw new ConflictException("Payment number is already used by another purchase");
+        }
+    }
+
+    private AdPurchase getByPaymentNumber(long paymentNumber) {
+        return adPurchaseRepository.findByPaymentNumber(paymentNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Ad purchase with the specified payment number does not exist"));
+    }
+
+    private AdPurchase getByIdForUpdate(long purchaseId) {
+        return adPurchaseRepository.findByIdForUpdate(purchaseId)
+                .orElseThrow(() -> new EntityNotFoundException("Ad purchase with the specified id does not exist"));
+    }
+}
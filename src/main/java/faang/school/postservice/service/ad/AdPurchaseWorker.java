@@ -0,0 +1,140 @@
+package faang.school.postservice.service.ad;
+
+import faang.school.postservice.client.PaymentServiceClient;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.dto.payment.PaymentRequest;
+import faang.school.postservice.dto.payment.PaymentResponse;
+import faang.school.postservice.dto.payment.PaymentStatus;
+import faang.school.postservice.model.ad.AdPurchase;
+import faang.school.postservice.model.ad.AdPurchaseStatus;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claims due purchases on every shard and pays for them on a bounded pool, so no more than
+ * {@code concurrency} payment calls are in flight per instance. Payment calls run outside of any
+ * transaction. A successful payment is recorded as {@code PAID} before the ad is created, so a failed
+ * completion is retried without charging again. Only a crash between the payment and that record
+ * resends the payment, with the same payment number, once the lease expires.
+ */
+@Slf4j
+@Component
+public class AdPurchaseWorker implements DisposableBean {
+    private final AdPurchaseService adPurchaseService;
+    private final PaymentServiceClient paymentServiceClient;
+    private final ShardRouter shardRouter;
+    private final UserContext userContext;
+    private final int concurrency;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdPurchaseWorker(AdPurchaseService adPurchaseService,
+                            PaymentServiceClient paymentServiceClient,
+                            ShardRouter shardRouter,
+                            UserContext userContext,
+                            @Value("${post.ad-purchase.worker.concurrency}") int concurrency,
+                            @Value("${post.ad-purchase.worker.lease}") Duration lease,
+                            @Value("${post.ad-purchase.worker.max-attempts}") int maxAttempts,
+                            @Value("${post.ad-purchase.worker.base-backoff}") Duration baseBackoff,
+                            @Value("${post.ad-purchase.worker.max-backoff}") Duration maxBackoff) {
+        this.adPurchaseService = adPurchaseService;
+        this.paymentServiceClient = paymentServiceClient;
+        this.shardRouter = shardRouter;
+        this.userContext = userContext;
+        this.concurrency = concurrency;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.executor = Executors.newFixedThreadPool(concurrency);
+    }
+
+    @Scheduled(fixedDelayString = "${post.ad-purchase.worker.poll-interval-ms}")
+    public void poll() {
+        shardRouter.forEachShard(shard -> {
+            int free = concurrency - inFlight.get();
+            if (free <= 0) {
+                return;
+            }
+            for (AdPurchase purchase : adPurchaseService.claim(free, lease)) {
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        process(shard, purchase);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        });
+    }
+
+    void process(int shard, AdPurchase purchase) {
+        UUID leaseOwner = purchase.getLeaseOwner();
+        boolean paid = purchase.getStatus() == AdPurchaseStatus.PAID;
+        userContext.setUserId(purchase.getBuyerId());
+        try {
+            if (!paid) {
+                PaymentResponse response = paymentServiceClient.sendPayment(new PaymentRequest(
+                        purchase.getPaymentNumber(), purchase.getAmount(), purchase.getCurrency())).getBody();
+                if (response == null || response.status() != PaymentStatus.SUCCESS) {
+                    String message = response == null ? "Empty payment response" : response.message();
+                    shardRouter.onShard(shard, () -> adPurchaseService.fail(purchase.getId(), leaseOwner, message, null));
+                    return;
+                }
+                paid = shardRouter.onShard(shard, () -> adPurchaseService.markPaid(purchase.getId(), leaseOwner));
+                if (!paid) {
+                    log.info("Lease of payment {} was lost after it was paid", purchase.getPaymentNumber());
+                    return;
+                }
+            }
+            shardRouter.onShard(shard, () -> adPurchaseService.complete(purchase.getId(), leaseOwner));
+        } catch (FeignException e) {
+            boolean retryable = e.status() < 0 || e.status() >= 500 || e.status() == 429;
+            handleFailure(shard, purchase, e, retryable, paid);
+        } catch (RuntimeException e) {
+            handleFailure(shard, purchase, e, true, paid);
+        } finally {
+            userContext.clear();
+        }
+    }
+
+    Duration backoff(int attempts) {
+        long cap = maxBackoff.toMillis();
+        long delay = Math.min(cap, baseBackoff.toMillis() << Math.min(attempts - 1, 30));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(delay / 2, delay + 1));
+    }
+
+    private void handleFailure(int shard, AdPurchase purchase, RuntimeException e, boolean retryable, boolean paid) {
+        Duration retryIn = paid || (retryable && purchase.getAttempts() < maxAttempts) ? backoff(purchase.getAttempts()) : null;
+        log.warn("Payment {} failed on attempt {}, {}", purchase.getPaymentNumber(), purchase.getAttempts(),
+                retryIn == null ? "giving up" : "retrying in " + retryIn, e);
+        shardRouter.onShard(shard, () -> adPurchaseService.fail(purchase.getId(), purchase.getLeaseOwner(),
+                e.getMessage(), retryIn));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(lease.toSeconds(), TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package faang.school.postservice.service.draft;
+
+import faang.school.postservice.config.redis.RedisScripts;
+import faang.school.postservice.dto.draft.DraftDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the latest autosaved content of drafts in Redis: a hash per post with the content, a revision and the save
+ * time, plus a sorted set of dirty posts scored by their last save. {@link #claimIdle} hands out drafts nobody has
+ * touched for a while, and {@link #release} drops a flushed draft only if it was not saved again meanwhile.
+ */
+@Slf4j
+@Component
+public class DraftBuffer {
+    private static final String KEY_PREFIX = "post:draft:";
+    private static final String DIRTY_KEY = "post:draft:dirty";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final DefaultRedisScript<Long> saveScript = RedisScripts.of("scripts/draft_save.lua", Long.class);
+    private final DefaultRedisScript<List<String>> claimScript = RedisScripts.ofList("scripts/draft_claim.lua");
+    private final DefaultRedisScript<Long> releaseScript = RedisScripts.of("scripts/draft_release.lua", Long.class);
+
+    public DraftBuffer(StringRedisTemplate redisTemplate, @Value("${post.draft.ttl}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Buffers the content under a revision above both the buffered one and {@code draftVersion}, the draft version
+     * of the post in the database, so revisions keep growing after a buffered draft is dropped.
+     */
+    public DraftDto save(long postId, String content, long draftVersion) {
+        long savedAt = System.currentTimeMillis();
+        Long rev = redisTemplate.execute(saveScript, List.of(key(postId), DIRTY_KEY), content, String.valueOf(savedAt),
+                String.valueOf(ttl.toMillis()), String.valueOf(postId), String.valueOf(draftVersion));
+        return new DraftDto(postId, content, rev == null ? 0 : rev, toDateTime(savedAt));
+    }
+
+    /**
+     * Returns the buffered draft of the post, or nothing if there is none or Redis is unavailable.
+     */
+    public Optional<DraftDto> find(long postId) {
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForHash().multiGet(key(postId), List.of("content", "rev", "savedAt"));
+        } catch (DataAccessException e) {
+            log.warn("Failed to read buffered draft of post {}", postId, e);
+            return Optional.empty();
+        }
+        if (values.get(0) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DraftDto(postId, (String) values.get(0),
+                Long.parseLong((String) values.get(1)),
+                toDateTime(Long.parseLong((String) values.get(2)))));
+    }
+
+    /**
+     * Returns the revision of the buffered draft, or 0 if there is none or Redis is unavailable.
+     */
+    public long findRevision(long postId) {
+        try {
+            Object rev = redisTemplate.opsForHash().get(key(postId), "rev");
+            return rev == null ? 0 : Long.parseLong((String) rev);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read buffered draft revision of post {}", postId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} drafts last saved more than {@code idle} ago. A claimed draft is offered again after
+     * {@code lease} unless it is released.
+     */
+    public List<Long> claimIdle(Duration idle, Duration lease, int limit) {
+        long now = System.currentTimeMillis();
+        List<String> ids = redisTemplate.execute(claimScript, List.of(DIRTY_KEY),
+                String.valueOf(now - idle.toMillis()), String.valueOf(now + lease.toMillis()), String.valueOf(limit));
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream()
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    /**
+     * Drops the draft if it is still at {@code rev}.
+     *
+     * @return false if the draft was saved again and has to be flushed later
+     */
+    public boolean release(long postId, long rev) {
+        Long released = redisTemplate.execute(releaseScript, List.of(key(postId), DIRTY_KEY),
+                String.valueOf(rev), String.valueOf(postId));
+        return released != null && released == 1;
+    }
+
+    public void discard(long postId) {
+        try {
+            redisTemplate.delete(key(postId));
+            redisTemplate.opsForZSet().remove(DIRTY_KEY, String.valueOf(postId));
+        } catch (DataAccessException e) {
+            log.warn("Failed to discard buffered draft of post {}", postId, e);
+        }
+    }
+
+    private static String key(long postId) {
+        return KEY_PREFIX + postId;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,7 @@
+package faang.school.postservice.service.etag;
+
+/**
+ * A response body together with the ETag computed from that very body.
+ */
+public record ETagged<T>(T body, String eTag) {
+}
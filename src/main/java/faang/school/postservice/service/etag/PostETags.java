@@ -0,0 +1,73 @@
+package faang.school.postservice.service.etag;
+
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Weak ETags for post responses, computed from {@link PostVersion}s so that a conditional request can be
+ * answered without loading posts, or from the post snapshot being served. The tags are weak because the hydrated
+ * author and project are not part of them, so a renamed author shows up once the post itself changes; a weak tag
+ * also lets the server compress the response. Bump {@link #FORMAT} whenever the JSON of a post changes.
+ */
+public final class PostETags {
+    private static final String FORMAT = "p1-";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PostETags() {
+    }
+
+    /**
+     * @param discriminators anything else that selects the representation, such as a page number or a draft revision
+     */
+    public static String of(List<? extends PostVersion> versions, long... discriminators) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, versions.size());
+        for (PostVersion version : versions) {
+            hash = mix(hash, version.getId(), version.getUpdatedAt(), version.isPublished());
+        }
+        return format(hash, discriminators);
+    }
+
+    /**
+     * Same as {@link #of(List, long...)} for a single post, taken from the snapshot that is served.
+     */
+    public static String of(PostDto post, long... discriminators) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, 1);
+        hash = mix(hash, post.getId(), post.getUpdatedAt(), post.isPublished());
+        return format(hash, discriminators);
+    }
+
+    private static String format(long hash, long... discriminators) {
+        for (long discriminator : discriminators) {
+            hash = mix(hash, discriminator);
+        }
+        return "W/\"" + FORMAT + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long id, LocalDateTime updatedAt, boolean published) {
+        hash = mix(hash, id);
+        hash = mix(hash, toMicros(updatedAt));
+        return mix(hash, published ? 1 : 0);
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return Long.MIN_VALUE;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,101 @@
+package faang.school.postservice.service.hydration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import faang.school.postservice.client.ProjectServiceClient;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.project.ProjectDto;
+import faang.school.postservice.dto.user.UserDto;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Attaches authors and projects to a page of posts with at most one bulk call per downstream service.
+ * Resolved users and projects are kept in a short-lived cache, so consecutive pages mostly hit memory; ids the
+ * bulk call did not return are cached as missing, so they are not requested again on every page.
+ * If a downstream service fails, posts are returned without the corresponding data.
+ */
+@Slf4j
+@Component
+public class PostHydrator {
+
+    private final UserServiceClient userServiceClient;
+    private final ProjectServiceClient projectServiceClient;
+    private final Cache<Long, Optional<UserDto>> users;
+    private final Cache<Long, Optional<ProjectDto>> projects;
+
+    public PostHydrator(UserServiceClient userServiceClient,
+                        ProjectServiceClient projectServiceClient,
+                        @Value("${post.hydration.cache-ttl}") Duration cacheTtl,
+                        @Value("${post.hydration.cache-max-size}") long cacheMaxSize) {
+        this.userServiceClient = userServiceClient;
+        this.projectServiceClient = projectServiceClient;
+        this.users = Caffeine.newBuilder().expireAfterWrite(cacheTtl).maximumSize(cacheMaxSize).build();
+        this.projects = Caffeine.newBuilder().expireAfterWrite(cacheTtl).maximumSize(cacheMaxSize).build();
+    }
+
+    public List<PostDto> hydrate(List<PostDto> posts) {
+        Map<Long, UserDto> authors = resolve(posts, PostDto::getAuthorId, users, this::loadUsers);
+        Map<Long, ProjectDto> postProjects = resolve(posts, PostDto::getProjectId, projects, this::loadProjects);
+
+        posts.forEach(post -> {
+            if (post.getAuthorId() != null) {
+                post.setAuthor(authors.get(post.getAuthorId()));
+            }
+            if (post.getProjectId() != null) {
+                post.setProject(postProjects.get(post.getProjectId()));
+            }
+        });
+        return posts;
+    }
+
+    private <T> Map<Long, T> resolve(List<PostDto> posts, Function<PostDto, Long> idExtractor,
+                                     Cache<Long, Optional<T>> cache,
+                                     Function<Collection<? extends Long>, Map<Long, T>> loader) {
+        Set<Long> ids = posts.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<Long, Optional<T>> resolved = cache.getAll(ids, missing -> {
+                Map<Long, T> loaded = loader.apply(missing);
+                Map<Long, Optional<T>> result = new HashMap<>();
+                missing.forEach(id -> result.put(id, Optional.ofNullable(loaded.get(id))));
+                return result;
+            });
+            Map<Long, T> found = new HashMap<>();
+            resolved.forEach((id, value) -> value.ifPresent(item -> found.put(id, item)));
+            return found;
+        } catch (FeignException e) {
+            log.warn("Failed to resolve {} ids for post hydration", ids.size(), e);
+            return Map.of();
+        }
+    }
+
+    private Map<Long, UserDto> loadUsers(Collection<? extends Long> ids) {
+        return userServiceClient.getUsersByIds(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, second) -> first));
+    }
+
+    private Map<Long, ProjectDto> loadProjects(Collection<? extends Long> ids) {
+        return projectServiceClient.getProjectsByIds(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(ProjectDto::getId, Function.identity(), (first, second) -> first));
+    }
+}
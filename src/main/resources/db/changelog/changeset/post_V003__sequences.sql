@@ -0,0 +1,24 @@
+ALTER TABLE post ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE post_id_seq INCREMENT BY 50 OWNED BY post.id;
+SELECT setval('post_id_seq', COALESCE((SELECT MAX(id) FROM post), 0) + 50, false);
+ALTER TABLE post ALTER COLUMN id SET DEFAULT nextval('post_id_seq');
+
+ALTER TABLE comment ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE comment_id_seq INCREMENT BY 50 OWNED BY comment.id;
+SELECT setval('comment_id_seq', COALESCE((SELECT MAX(id) FROM comment), 0) + 50, false);
+ALTER TABLE comment ALTER COLUMN id SET DEFAULT nextval('comment_id_seq');
+
+ALTER TABLE likes ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE likes_id_seq INCREMENT BY 50 OWNED BY likes.id;
+SELECT setval('likes_id_seq', COALESCE((SELECT MAX(id) FROM likes), 0) + 50, false);
+ALTER TABLE likes ALTER COLUMN id SET DEFAULT nextval('likes_id_seq');
+
+ALTER TABLE album ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE album_id_seq INCREMENT BY 50 OWNED BY album.id;
+SELECT setval('album_id_seq', COALESCE((SELECT MAX(id) FROM album), 0) + 50, false);
+ALTER TABLE album ALTER COLUMN id SET DEFAULT nextval('album_id_seq');
+
+ALTER TABLE post_ad ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE post_ad_id_seq INCREMENT BY 50 OWNED BY post_ad.id;
+SELECT setval('post_ad_id_seq', COALESCE((SELECT MAX(id) FROM post_ad), 0) + 50, false);
+ALTER TABLE post_ad ALTER COLUMN id SET DEFAULT nextval('post_ad_id_seq');
\ No newline at end of file
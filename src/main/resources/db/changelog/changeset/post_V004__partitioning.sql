@@ -0,0 +1,54 @@
+--liquibase formatted sql
+
+--changeset post:V004-likes-partitioned
+CREATE TABLE likes_partitioned (
+    id bigint NOT NULL DEFAULT nextval('likes_id_seq'),
+    post_id bigint,
+    comment_id bigint,
+    user_id bigint NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT current_timestamp,
+    updated_at timestamptz DEFAULT current_timestamp,
+
+    CONSTRAINT likes_partitioned_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_post_id FOREIGN KEY (post_id) REFERENCES post (id) ON DELETE CASCADE,
+    CONSTRAINT fk_comment_id FOREIGN KEY (comment_id) REFERENCES comment (id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+--changeset post:V004-likes-monthly-partitions splitStatements:false
+DO $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM likes), current_timestamp));
+    last_month date := date_trunc('month', current_timestamp) + interval '3 months';
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF likes_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'likes_' || to_char(month_start, 'YYYY_MM'), month_start, month_start + interval '1 month');
+        month_start := month_start + interval '1 month';
+    END LOOP;
+END $$;
+
+--changeset post:V004-likes-swap
+INSERT INTO likes_partitioned (id, post_id, comment_id, user_id, created_at, updated_at)
+SELECT id, post_id, comment_id, user_id, COALESCE(created_at, current_timestamp), updated_at FROM likes;
+ALTER SEQUENCE likes_id_seq OWNED BY NONE;
+DROP TABLE likes;
+ALTER TABLE likes_partitioned RENAME TO likes;
+ALTER TABLE likes RENAME CONSTRAINT likes_partitioned_pkey TO likes_pkey;
+ALTER SEQUENCE likes_id_seq OWNED BY likes.id;
+
+CREATE INDEX likes_post_id_user_id_idx ON likes (post_id, user_id);
+CREATE INDEX likes_comment_id_user_id_idx ON likes (comment_id, user_id);
+
+--changeset post:V004-archive-tables
+CREATE TABLE likes_archive (LIKE likes) PARTITION BY RANGE (created_at);
+
+CREATE TABLE post_archive (
+    LIKE post,
+    archived_at timestamptz NOT NULL DEFAULT current_timestamp
+);
+
+--changeset post:V004-post-partial-indexes
+CREATE INDEX post_author_published_idx ON post (author_id, published_at DESC) WHERE published AND NOT deleted;
+CREATE INDEX post_project_published_idx ON post (project_id, published_at DESC) WHERE published AND NOT deleted;
+CREATE INDEX post_ready_to_publish_idx ON post (scheduled_at) WHERE NOT published AND NOT deleted;
+CREATE INDEX post_deleted_idx ON post (updated_at) WHERE deleted;
\ No newline at end of file
@@ -0,0 +1,27 @@
+CREATE SEQUENCE ad_purchase_id_seq INCREMENT BY 50;
+
+CREATE TABLE ad_purchase (
+    id bigint PRIMARY KEY DEFAULT nextval('ad_purchase_id_seq'),
+    payment_number bigint NOT NULL,
+    post_id bigint NOT NULL,
+    buyer_id bigint NOT NULL,
+    amount numeric(19, 2) NOT NULL,
+    currency varchar(8) NOT NULL,
+    appearances int NOT NULL,
+    duration_days int NOT NULL,
+    status varchar(16) NOT NULL,
+    attempts int DEFAULT 0 NOT NULL,
+    next_attempt_at timestamptz DEFAULT current_timestamp NOT NULL,
+    locked_until timestamptz,
+    last_error varchar(1024),
+    ad_id bigint,
+    created_at timestamptz DEFAULT current_timestamp,
+    updated_at timestamptz DEFAULT current_timestamp,
+
+    CONSTRAINT uq_ad_purchase_payment_number UNIQUE (payment_number),
+    CONSTRAINT fk_ad_purchase_post_id FOREIGN KEY (post_id) REFERENCES post (id)
+);
+
+ALTER SEQUENCE ad_purchase_id_seq OWNED BY ad_purchase.id;
+
+CREATE INDEX ad_purchase_ready_idx ON ad_purchase (next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING');
\ No newline at end of file
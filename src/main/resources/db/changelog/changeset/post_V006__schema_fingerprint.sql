@@ -0,0 +1,5 @@
+CREATE TABLE schema_fingerprint (
+    id smallint PRIMARY KEY CHECK (id = 1),
+    fingerprint varchar(64) NOT NULL,
+    applied_at timestamptz NOT NULL
+);
@@ -0,0 +1,36 @@
+--liquibase formatted sql
+
+--changeset post:V007-archive-dependent-tables
+CREATE TABLE comment_archive (
+    LIKE comment,
+    archived_at timestamptz NOT NULL DEFAULT current_timestamp
+);
+
+CREATE TABLE post_album_archive (
+    LIKE post_album,
+    archived_at timestamptz NOT NULL DEFAULT current_timestamp
+);
+
+-- likes of archived posts and of their comments; likes_archive only receives whole monthly partitions
+CREATE TABLE archived_post_likes (
+    LIKE likes,
+    archived_at timestamptz NOT NULL DEFAULT current_timestamp
+);
+
+--changeset post:V007-likes-default-partition
+CREATE TABLE likes_default PARTITION OF likes DEFAULT;
+
+--changeset post:V007-likes-archive-drop-foreign-keys splitStatements:false
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT c.conrelid::regclass AS partition, c.conname
+        FROM pg_constraint c
+        JOIN pg_inherits i ON i.inhrelid = c.conrelid
+        WHERE i.inhparent = 'likes_archive'::regclass AND c.contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.partition, fk.conname);
+    END LOOP;
+END $$;
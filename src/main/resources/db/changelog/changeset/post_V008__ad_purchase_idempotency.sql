@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset post:V008-ad-purchase-key
+-- Payment numbers are claimed here on shard 0 before a purchase is queued on the shard of its post,
+-- so a payment number is unique across all shards. The table exists on every shard but is only used on shard 0.
+CREATE TABLE ad_purchase_key (
+    payment_number bigint PRIMARY KEY,
+    post_id bigint NOT NULL,
+    buyer_id bigint NOT NULL,
+    amount numeric(19, 2) NOT NULL,
+    currency varchar(8) NOT NULL,
+    appearances int NOT NULL,
+    duration_days int NOT NULL,
+    created_at timestamptz DEFAULT current_timestamp
+);
+
+INSERT INTO ad_purchase_key (payment_number, post_id, buyer_id, amount, currency, appearances, duration_days, created_at)
+SELECT payment_number, post_id, buyer_id, amount, currency, appearances, duration_days, created_at
+FROM ad_purchase
+ON CONFLICT (payment_number) DO NOTHING;
+
+--changeset post:V008-ad-purchase-lease-owner
+-- A worker owns a claimed purchase only while lease_owner holds its token; PAID marks a purchase
+-- whose payment succeeded, so it is completed again but never charged again.
+ALTER TABLE ad_purchase ADD COLUMN lease_owner uuid;
+
+DROP INDEX ad_purchase_ready_idx;
+CREATE INDEX ad_purchase_ready_idx ON ad_purchase (next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING', 'PAID');
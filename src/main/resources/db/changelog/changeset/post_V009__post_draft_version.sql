@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset post:V009-post-draft-version
+-- Revision of the last draft content written to the post. Buffered drafts continue from it,
+-- so an autosave is applied only if its revision is higher.
+ALTER TABLE post ADD COLUMN draft_version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE post_archive ADD COLUMN draft_version bigint DEFAULT 0 NOT NULL;
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset post:V010-post-ad-unique-post
+-- A post has at most one ad; further purchases extend it. Duplicates left by earlier purchases are merged
+-- into the newest ad of the post, and their purchases are pointed at it.
+WITH merged AS (
+    SELECT post_id, MAX(id) AS keep_id, SUM(appearances_left) AS appearances_left,
+           MIN(start_date) AS start_date, MAX(end_date) AS end_date
+    FROM post_ad
+    GROUP BY post_id
+    HAVING COUNT(*) > 1
+)
+UPDATE post_ad a
+SET appearances_left = m.appearances_left, start_date = m.start_date, end_date = m.end_date
+FROM merged m
+WHERE a.id = m.keep_id;
+
+UPDATE ad_purchase p
+SET ad_id = keep.id
+FROM post_ad a
+JOIN (SELECT post_id, MAX(id) AS id FROM post_ad GROUP BY post_id) keep ON keep.post_id = a.post_id
+WHERE p.ad_id = a.id AND a.id <> keep.id;
+
+DELETE FROM post_ad a
+USING post_ad newer
+WHERE newer.post_id = a.post_id AND newer.id > a.id;
+
+CREATE UNIQUE INDEX uq_post_ad_post_id ON post_ad (post_id);
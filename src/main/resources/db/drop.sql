@@ -1,7 +1,39 @@
-DROP TABLE post_album;
-DROP TABLE likes;
-DROP TABLE comment;
-DROP TABLE post;
-DROP TABLE favorite_albums;
-DROP INDEX album_author_title_idx;
-DROP TABLE album;
\ No newline at end of file
+-- Drops everything the changelog creates, dependents first. Partitions of likes and likes_archive,
+-- including likes_default, go with their parent tables; the DO block removes monthly partitions
+-- left detached by an interrupted archive run.
+DROP TABLE IF EXISTS schema_fingerprint;
+DROP TABLE IF EXISTS ad_purchase_key;
+DROP TABLE IF EXISTS ad_purchase;
+DROP TABLE IF EXISTS post_ad;
+DROP TABLE IF EXISTS archived_post_likes;
+DROP TABLE IF EXISTS post_album_archive;
+DROP TABLE IF EXISTS comment_archive;
+DROP TABLE IF EXISTS likes_archive;
+DROP TABLE IF EXISTS post_archive;
+DROP TABLE IF EXISTS post_album;
+DROP TABLE IF EXISTS likes;
+DO $$
+DECLARE
+    partition_name text;
+BEGIN
+    FOR partition_name IN SELECT tablename FROM pg_tables
+                          WHERE schemaname = current_schema() AND tablename ~ '^likes_\d{4}_\d{2}$' LOOP
+        EXECUTE format('DROP TABLE %I', partition_name);
+    END LOOP;
+END $$;
+DROP TABLE IF EXISTS comment;
+DROP TABLE IF EXISTS post;
+DROP TABLE IF EXISTS favorite_albums;
+DROP INDEX IF EXISTS album_author_title_idx;
+DROP TABLE IF EXISTS album;
+
+DROP SEQUENCE IF EXISTS ad_purchase_id_seq;
+DROP SEQUENCE IF EXISTS post_ad_id_seq;
+DROP SEQUENCE IF EXISTS album_id_seq;
+DROP SEQUENCE IF EXISTS likes_id_seq;
+DROP SEQUENCE IF EXISTS comment_id_seq;
+DROP SEQUENCE IF EXISTS post_id_seq;
+
+-- Liquibase bookkeeping, so the next start applies the changelog from scratch
+DROP TABLE IF EXISTS databasechangelog;
+DROP TABLE IF EXISTS databasechangeloglock;
@@ -0,0 +1,7 @@
+-- Claims drafts idle since ARGV[1] (epoch millis) from the dirty set KEYS[1], at most ARGV[3] of them.
+-- Claimed drafts are rescheduled to ARGV[2], so they are retried if the flush does not finish.
+local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[3])
+for _, id in ipairs(ids) do
+    redis.call('ZADD', KEYS[1], ARGV[2], id)
+end
+return ids
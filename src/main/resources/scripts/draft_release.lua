@@ -0,0 +1,8 @@
+-- Drops a flushed draft unless it was saved again meanwhile. KEYS[1] - draft hash, KEYS[2] - dirty set;
+-- ARGV[1] - flushed revision, ARGV[2] - post id. Returns 1 if the draft was dropped.
+if redis.call('HGET', KEYS[1], 'rev') == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    redis.call('ZREM', KEYS[2], ARGV[2])
+    return 1
+end
+return 0
@@ -0,0 +1,9 @@
+-- Buffers a draft. KEYS[1] - draft hash, KEYS[2] - dirty set;
+-- ARGV[1] - content, ARGV[2] - saved at (epoch millis), ARGV[3] - ttl millis, ARGV[4] - post id,
+-- ARGV[5] - draft version of the post in the database.
+-- Returns the new revision of the draft, which is above both the buffered revision and ARGV[5].
+local rev = math.max(tonumber(redis.call('HGET', KEYS[1], 'rev')) or 0, tonumber(ARGV[5])) + 1
+redis.call('HSET', KEYS[1], 'rev', rev, 'content', ARGV[1], 'savedAt', ARGV[2])
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+redis.call('ZADD', KEYS[2], ARGV[2], ARGV[4])
+return rev
@@ -0,0 +1,29 @@
+-- Token bucket. KEYS[1] - bucket key; ARGV[1] - capacity, ARGV[2] - refill per second, ARGV[3] - tokens wanted.
+-- Grants up to ARGV[3] whole tokens and returns {granted, retry_after_ms}. More than one token is granted only while
+-- the bucket keeps at least as many afterwards, so a lease never uses up tokens that another caller needs.
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+if tokens < 2 * wanted then
+    wanted = 1
+end
+local granted = math.min(wanted, math.floor(tokens))
+tokens = tokens - granted
+
+local retry_after = 0
+if granted == 0 then
+    retry_after = math.ceil((1 - tokens) * 1000 / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+return {granted, retry_after}
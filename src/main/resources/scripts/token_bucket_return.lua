@@ -0,0 +1,19 @@
+-- Returns unspent leased tokens. KEYS[1] - bucket key; ARGV[1] - capacity, ARGV[2] - refill per second,
+-- ARGV[3] - tokens returned. A bucket that already expired is full, so there is nothing to return to.
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local returned = tonumber(ARGV[3])
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+if not bucket[1] then
+    return 0
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ts = tonumber(bucket[2]) or now
+local tokens = math.min(capacity, tonumber(bucket[1]) + math.max(0, now - ts) * rate / 1000 + returned)
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+return 1
@@ -0,0 +1,65 @@
+package faang.school.postservice.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import faang.school.postservice.dto.PostDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSnapshotSerializerTest {
+    private final PostSnapshotSerializer serializer = new PostSnapshotSerializer(512);
+
+    @Test
+    void testRoundTrip() {
+        PostDto post = PostDto.builder()
+                .id((3L << 53) | 42L)
+                .content("Content")
+                .authorId(7L)
+                .published(true)
+                .publishedAt(LocalDateTime.of(2023, 5, 1, 12, 30, 15, 123_456_000))
+                .updatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1_000))
+                .build();
+
+        PostDto actual = serializer.deserialize(serializer.serialize(post));
+
+        assertEquals(post, actual);
+    }
+
+    @Test
+    void testLongContentIsCompressed() throws Exception {
+        PostDto post = PostDto.builder()
+                .id(1L)
+                .content("Lorem ipsum dolor sit amet. ".repeat(200))
+                .projectId(2L)
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        byte[] bytes = serializer.serialize(post);
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(post);
+
+        assertTrue(bytes.length < post.getContent().length() / 4);
+        assertTrue(bytes.length < json.length / 4);
+        assertEquals(post, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testUnknownVersionIsRejected() {
+        byte[] bytes = serializer.serialize(PostDto.builder().id(1L).content("Content").build());
+        bytes[0] = (byte) (PostSnapshotSerializer.VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testTruncatedValueIsRejected() {
+        byte[] bytes = serializer.serialize(PostDto.builder().id(1L).content("Content").build());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+}
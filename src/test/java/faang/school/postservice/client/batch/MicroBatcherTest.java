@@ -0,0 +1,129 @@
+package faang.school.postservice.client.batch;
+
+import faang.school.postservice.exception.LookupTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+    private MicroBatcher<Long, String> batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+    }
+
+    @Test
+    void testLookupsWithinWindowAreLoadedInOneCall() {
+        batcher = batcher(100, 50);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+        CompletableFuture<String> third = batcher.load(3L);
+
+        assertEquals("user-1", first.join());
+        assertEquals("user-2", second.join());
+        assertEquals("user-3", third.join());
+        assertEquals(List.of(List.of(1L, 2L, 3L)), calls);
+    }
+
+    @Test
+    void testSameKeyIsLoadedOnce() {
+        batcher = batcher(100, 50);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(1L);
+
+        assertSame(first, second);
+        assertEquals("user-1", second.join());
+        assertEquals(List.of(List.of(1L)), calls);
+    }
+
+    @Test
+    void testFullBatchIsFlushedWithoutWaiting() throws Exception {
+        batcher = batcher(2, TimeUnit.MINUTES.toMillis(1));
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+
+        assertEquals("user-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("user-2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1L, 2L)), calls);
+    }
+
+    @Test
+    void testMissingKeyResolvesToNull() {
+        batcher = batcher(100, 10);
+
+        assertNull(batcher.get(-1L));
+    }
+
+    @Test
+    void testLoaderFailureIsRethrown() {
+        batcher = new MicroBatcher<>("test", ids -> {
+            throw new IllegalStateException("service is down");
+        }, 100, 10, 1, TIMEOUT);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> batcher.get(1L));
+        assertEquals("service is down", exception.getMessage());
+        assertThrows(CompletionException.class, () -> batcher.load(1L).join());
+    }
+
+    @Test
+    void testErrorCompletesBatchAndReleasesKeys() {
+        batcher = new MicroBatcher<>("test", ids -> {
+            throw new AssertionError("boom");
+        }, 100, 10, 1, TIMEOUT);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletionException exception = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertNotSame(first, batcher.load(1L));
+    }
+
+    @Test
+    void testGetGivesUpAfterTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        batcher = new MicroBatcher<>("test", ids -> {
+            awaitQuietly(release);
+            return Map.of();
+        }, 100, 1, 1, Duration.ofMillis(50));
+
+        assertThrows(LookupTimeoutException.class, () -> batcher.get(1L));
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MicroBatcher<Long, String> batcher(int maxBatchSize, long maxDelayMillis) {
+        return new MicroBatcher<>("test", this::load, maxBatchSize, maxDelayMillis, 1, TIMEOUT);
+    }
+
+    private Map<Long, String> load(List<Long> ids) {
+        calls.add(List.copyOf(ids));
+        return ids.stream()
+                .filter(id -> id > 0)
+                .collect(Collectors.toMap(Function.identity(), id -> "user-" + id));
+    }
+}
@@ -0,0 +1,98 @@
+package faang.school.postservice.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamGuardTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSlowGetIsHedged() throws IOException {
+        CountDownLatch primaryReleased = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Client delegate = (request, options) -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    primaryReleased.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return response(request, 200);
+            }
+            return response(request, 203);
+        };
+
+        Response response = guard(true, CircuitBreakerConfig.ofDefaults()).execute(delegate, get(), options);
+        primaryReleased.countDown();
+
+        assertEquals(203, response.status());
+        assertEquals(1.0, meterRegistry.get("feign.client.hedge.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void testOpenCircuitRejectsCalls() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        Client delegate = (request, options) -> {
+            calls.incrementAndGet();
+            return response(request, 503);
+        };
+        DownstreamGuard guard = guard(false, CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        for (int i = 0; i < 4; i++) {
+            guard.execute(delegate, get(), options);
+        }
+
+        assertThrows(IOException.class, () -> guard.execute(delegate, get(), options));
+        assertEquals(4, calls.get());
+    }
+
+    private DownstreamGuard guard(boolean hedging, CircuitBreakerConfig circuitBreakerConfig) {
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.getHedging().setEnabled(hedging);
+        policy.getHedging().setInitialDelay(Duration.ofMillis(20));
+        return new DownstreamGuard("user-service", policy, Bulkhead.ofDefaults("user-service"),
+                CircuitBreaker.of("user-service", circuitBreakerConfig), executor, meterRegistry);
+    }
+
+    private Request get() {
+        return Request.create(Request.HttpMethod.GET, "http://localhost/users/1", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private Response response(Request request, int status) {
+        return Response.builder()
+                .request(request)
+                .status(status)
+                .reason("test")
+                .headers(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package faang.school.postservice.config.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserContextTest {
+    private final UserContext userContext = new UserContext();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        userContext.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testWrapPropagatesUserToAnotherThread() throws Exception {
+        userContext.setUserId(7L);
+
+        long userId = executor.submit(userContext.wrap(userContext::getUserId)).get();
+
+        assertEquals(7L, userId);
+    }
+
+    @Test
+    void testWrapRestoresPreviousValueOfExecutingThread() throws Exception {
+        userContext.setUserId(7L);
+        Runnable task = userContext.wrap(() -> assertEquals(7L, userContext.getUserId()));
+
+        executor.submit(task).get();
+
+        assertFalse(executor.submit(userContext::hasUserId).get());
+    }
+
+    @Test
+    void testWrapWithoutUserLeavesContextEmpty() throws Exception {
+        executor.submit(() -> userContext.setUserId(3L)).get();
+
+        boolean hasUserId = executor.submit(userContext.wrap(userContext::hasUserId)).get();
+
+        assertFalse(hasUserId);
+    }
+}
@@ -0,0 +1,45 @@
+package faang.school.postservice.config.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Needs JDK 21: runs in the {@code virtualThreadTest} task, not in {@code test}.
+ */
+@Tag("jdk21")
+class VirtualThreadConfigTest {
+    private final VirtualThreadConfig config = new VirtualThreadConfig();
+    private final UserContext userContext = new UserContext();
+    private final ExecutorService executor = config.virtualThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        userContext.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testTasksRunOnVirtualThreads() throws Exception {
+        boolean virtual = executor.submit(() -> (boolean) Thread.class.getMethod("isVirtual")
+                .invoke(Thread.currentThread())).get();
+
+        assertTrue(virtual);
+    }
+
+    @Test
+    void testApplicationTaskExecutorPropagatesUser() throws Exception {
+        AsyncTaskExecutor taskExecutor =
+                config.applicationTaskExecutor(executor, new UserContextTaskDecorator(userContext));
+        userContext.setUserId(7L);
+
+        long userId = taskExecutor.submit(userContext::getUserId).get();
+
+        assertEquals(7L, userId);
+    }
+}
@@ -0,0 +1,72 @@
+package faang.school.postservice.config.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountListenerTest {
+    private final QueryCountListener listener = new QueryCountListener();
+
+    @AfterEach
+    void tearDown() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    void testCountsStatementsByType() {
+        QueryCount count = QueryCountHolder.start(0);
+
+        execute("SELECT * FROM post WHERE id = ?");
+        execute("SELECT * FROM likes WHERE post_id = ?");
+        execute("INSERT INTO post (content) VALUES (?)");
+        execute("UPDATE post SET content = ? WHERE id = ?");
+        execute("DELETE FROM likes WHERE id = ?");
+
+        assertEquals(2, count.getSelect());
+        assertEquals(1, count.getInsert());
+        assertEquals(1, count.getUpdate());
+        assertEquals(1, count.getDelete());
+        assertEquals(5, count.getTotal());
+    }
+
+    @Test
+    void testBatchCountsAsOneStatement() {
+        QueryCount count = QueryCountHolder.start(0);
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setBatch(true);
+        execInfo.setBatchSize(50);
+
+        listener.afterQuery(execInfo, List.of(new QueryInfo("INSERT INTO likes (user_id) VALUES (?)")));
+
+        assertEquals(1, count.getInsert());
+    }
+
+    @Test
+    void testBudgetExceededCapturesStack() {
+        QueryCount count = QueryCountHolder.start(1);
+
+        execute("SELECT 1");
+        assertFalse(count.isBudgetExceeded());
+        assertNull(count.getBudgetExceededAt());
+
+        execute("SELECT 2");
+        assertTrue(count.isBudgetExceeded());
+        assertNotNull(count.getBudgetExceededAt());
+    }
+
+    @Test
+    void testNothingIsCountedOutsideScope() {
+        execute("SELECT 1");
+
+        assertNull(QueryCountHolder.get());
+    }
+
+    private void execute(String query) {
+        listener.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(query)));
+    }
+}
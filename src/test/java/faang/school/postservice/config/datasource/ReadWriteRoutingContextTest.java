@@ -0,0 +1,68 @@
+package faang.school.postservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.service.draft.DraftBuffer;
+import faang.school.postservice.util.BaseContextTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses the test database as its own read-only replica, so a write routed to the replica fails instead of
+ * silently landing on the primary.
+ */
+class ReadWriteRoutingContextTest extends BaseContextTest {
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+    @MockBean
+    private DraftBuffer draftBuffer;
+    @Autowired
+    private ReplicaPool replicaPool;
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @DynamicPropertySource
+    static void routingProperties(DynamicPropertyRegistry registry) {
+        POSTGRESQL_CONTAINER.start();
+        registry.add("post.datasource.routing.enabled", () -> "true");
+        registry.add("post.datasource.routing.replicas[0].name", () -> "replica-1");
+        registry.add("post.datasource.routing.replicas[0].url", POSTGRESQL_CONTAINER::getJdbcUrl);
+        registry.add("post.datasource.routing.replicas[0].username", POSTGRESQL_CONTAINER::getUsername);
+        registry.add("post.datasource.routing.replicas[0].password", POSTGRESQL_CONTAINER::getPassword);
+    }
+
+    @Test
+    void testWriteAfterReplicaReadInOneRequestGoesToPrimary() throws Exception {
+        replicaPool.checkReplicationLag();
+        assertTrue(replicaPool.next().isPresent());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        Long postId = jdbcTemplate.queryForObject("""
+                INSERT INTO post (content, author_id, published) VALUES ('draft', 1, false) RETURNING id
+                """, Long.class);
+        when(draftBuffer.save(anyLong(), anyString(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"));
+
+        mockMvc.perform(put("/api/v1/posts/" + postId + "/draft")
+                        .header("x-user-id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\": \"autosaved\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("autosaved",
+                jdbcTemplate.queryForObject("SELECT content FROM post WHERE id = ?", String.class, postId));
+    }
+}
@@ -0,0 +1,73 @@
+package faang.school.postservice.config.datasource;
+
+import faang.school.postservice.config.context.UserContext;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesListenerTest {
+    private final UserContext userContext = new UserContext();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    private final ReadYourWritesListener listener = new ReadYourWritesListener(tracker, userContext);
+
+    @BeforeEach
+    void setUp() {
+        userContext.setUserId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(listener);
+    }
+
+    @Test
+    void testReadsDoNotPinUser() {
+        execute("SELECT * FROM post WHERE id = ?", null);
+        execute("UPDATE post SET content = ? WHERE id = ?", 0);
+
+        assertFalse(tracker.isSticky(1L));
+    }
+
+    @Test
+    void testModifiedRowsPinUser() {
+        execute("UPDATE post SET content = ? WHERE id = ?", 1);
+
+        assertTrue(tracker.isSticky(1L));
+    }
+
+    @Test
+    void testWriteInTransactionIsRecordedOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        execute("INSERT INTO post (content) VALUES (?)", new int[]{1, 1});
+        assertFalse(tracker.isSticky(1L));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(tracker.isSticky(1L));
+        assertFalse(TransactionSynchronizationManager.hasResource(listener));
+    }
+
+    private void execute(String query, Object result) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setSuccess(true);
+        execInfo.setResult(result);
+        listener.afterQuery(execInfo, List.of(new QueryInfo(query)));
+    }
+}
@@ -0,0 +1,95 @@
+package faang.school.postservice.config.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBucketRateLimiterTest {
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        limit.setCapacity(10);
+        limit.setRefillPerSecond(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLocalLeaseSize(3);
+        properties.setLocalLeaseTtl(Duration.ofMinutes(1));
+        properties.setLimits(Map.of("post-write", limit));
+        rateLimiter = new TokenBucketRateLimiter(redisTemplate, properties);
+    }
+
+    @Test
+    void testLeasedTokensAreSpentWithoutRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(3L, 0L));
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("post-write", "user:1"));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("post-write", "user:1"));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("post-write", "user:1"));
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    void testDenialIsRememberedUntilRefill() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(0L, 60_000L));
+
+        assertFalse(rateLimiter.tryAcquire("post-write", "user:1").isZero());
+        assertFalse(rateLimiter.tryAcquire("post-write", "user:1").isZero());
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    void testUnspentLeaseIsReturnedWhenItExpires() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLocalLeaseSize(3);
+        properties.setLocalLeaseTtl(Duration.ofMillis(50));
+        properties.setLimits(Map.of("post-write", limit));
+        TokenBucketRateLimiter shortLeaseLimiter = new TokenBucketRateLimiter(redisTemplate, properties);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(3L, 0L));
+
+        assertEquals(Duration.ZERO, shortLeaseLimiter.tryAcquire("post-write", "user:1"));
+
+        verify(redisTemplate, timeout(2_000)).execute(any(RedisScript.class),
+                eq(List.of("post:rate-limit:post-write:user:1")), eq("10"), eq("1.0"), eq("2"));
+    }
+
+    @Test
+    void testRedisFailureLetsRequestsThrough() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("post-write", "user:1"));
+    }
+
+    @Test
+    void testUnknownLimit() {
+        assertThrows(IllegalStateException.class, () -> rateLimiter.tryAcquire("unknown", "user:1"));
+    }
+}
@@ -0,0 +1,37 @@
+package faang.school.postservice.config.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardIdsTest {
+
+    @Test
+    void testShardIsEncodedIntoId() {
+        long id = ShardIds.compose(3, 12345L);
+
+        assertEquals(3, ShardIds.shardOf(id));
+        assertEquals(12345L, ShardIds.localIdOf(id));
+    }
+
+    @Test
+    void testShardZeroIdsArePlainSequenceValues() {
+        assertEquals(0, ShardIds.shardOf(12345L));
+        assertEquals(12345L, ShardIds.compose(0, 12345L));
+    }
+
+    @Test
+    void testIdsStaySafeForJavaScript() {
+        long maxSafeInteger = (1L << 53) - 1;
+        long largest = ShardIds.compose(ShardIds.MAX_SHARDS - 1, ShardIds.localIdOf(-1L));
+
+        assertTrue(largest <= maxSafeInteger, "id exceeds 2^53 - 1: " + largest);
+        assertEquals(ShardIds.MAX_SHARDS - 1, ShardIds.shardOf(largest));
+    }
+
+    @Test
+    void testLocalIdOverflowIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ShardIds.compose(1, 1L << 43));
+        assertThrows(IllegalArgumentException.class, () -> ShardIds.compose(ShardIds.MAX_SHARDS, 1L));
+    }
+}
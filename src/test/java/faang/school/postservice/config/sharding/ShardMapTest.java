@@ -0,0 +1,42 @@
+package faang.school.postservice.config.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardMapTest {
+
+    @Test
+    void testSingleShardOwnsEverything() {
+        ShardMap shardMap = new ShardMap(1, 128);
+
+        assertEquals(0, shardMap.shardFor("author:1"));
+        assertEquals(0, shardMap.shardFor("project:42"));
+    }
+
+    @Test
+    void testKeysAreSpreadOverAllShards() {
+        ShardMap shardMap = new ShardMap(4, 128);
+        int[] counts = new int[4];
+
+        IntStream.range(0, 10_000).forEach(i -> counts[shardMap.shardFor("author:" + i)]++);
+
+        for (int count : counts) {
+            assertTrue(count > 1_500, "shard is underloaded: " + count);
+        }
+    }
+
+    @Test
+    void testAddingShardMovesOnlyPartOfKeys() {
+        ShardMap before = new ShardMap(4, 128);
+        ShardMap after = new ShardMap(5, 128);
+
+        long moved = IntStream.range(0, 10_000)
+                .filter(i -> before.shardFor("author:" + i) != after.shardFor("author:" + i))
+                .count();
+
+        assertTrue(moved < 3_000, "too many keys moved: " + moved);
+    }
+}
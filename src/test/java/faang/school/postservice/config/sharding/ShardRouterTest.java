@@ -0,0 +1,45 @@
+package faang.school.postservice.config.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    @Test
+    void testLegacyShardIsReadOnlyWhenEnabled() {
+        ShardMap shardMap = new ShardMap(4, 16);
+        long authorId = IntStream.range(1, 1_000)
+                .filter(i -> shardMap.shardFor("author:" + i) != 0)
+                .findFirst()
+                .orElseThrow();
+        int home = shardMap.shardFor("author:" + authorId);
+
+        assertEquals(List.of(home, 0), new ShardRouter(shardMap, true).shardsForAuthor(authorId));
+        assertEquals(List.of(home), new ShardRouter(shardMap, false).shardsForAuthor(authorId));
+        assertEquals(List.of(0), new ShardRouter(new ShardMap(1, 16), true).shardsForAuthor(authorId));
+    }
+
+    @Test
+    void testPageAcrossMergesShardsInOrder() {
+        ShardRouter shardRouter = new ShardRouter(new ShardMap(2, 16), true);
+        Map<Integer, List<Integer>> rows = Map.of(
+                0, List.of(9, 6, 3, 1),
+                1, List.of(8, 7, 5, 4, 2));
+
+        List<Integer> page = shardRouter.pageAcross(List.of(1, 0), PageRequest.of(1, 3),
+                pageable -> rows.get(ShardContext.current()).stream()
+                        .limit(pageable.getOffset() + pageable.getPageSize())
+                        .skip(pageable.getOffset())
+                        .toList(),
+                Comparator.reverseOrder());
+
+        assertEquals(List.of(6, 5, 4), page);
+    }
+}
@@ -0,0 +1,26 @@
+package faang.school.postservice.config.sharding;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardingConfigTest {
+    private final ShardingConfig.ShardedDataSourceConfig config = new ShardingConfig.ShardedDataSourceConfig(false);
+
+    @Test
+    void testShardedLiquibaseHonorsLiquibaseEnabled() {
+        ShardRoutingDataSource shardRoutingDataSource = mock(ShardRoutingDataSource.class);
+        when(shardRoutingDataSource.getShards()).thenReturn(List.of());
+
+        SpringLiquibase disabled = config.liquibase(shardRoutingDataSource, "changelog.yaml", false);
+        SpringLiquibase enabled = config.liquibase(shardRoutingDataSource, "changelog.yaml", true);
+
+        assertFalse(disabled.isShouldRun());
+        assertTrue(enabled.isShouldRun());
+    }
+}
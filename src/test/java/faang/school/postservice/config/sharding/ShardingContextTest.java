@@ -0,0 +1,136 @@
+package faang.school.postservice.config.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.util.BaseContextTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the service on two shards, kept in two schemas of the test database, and checks requests that touch
+ * more than one shard through the web layer, where a request-wide session would pin a single connection.
+ */
+class ShardingContextTest extends BaseContextTest {
+    private static final int SHARDS = 2;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) throws SQLException {
+        POSTGRESQL_CONTAINER.start();
+        try (Connection connection = DriverManager.getConnection(POSTGRESQL_CONTAINER.getJdbcUrl(),
+                POSTGRESQL_CONTAINER.getUsername(), POSTGRESQL_CONTAINER.getPassword());
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < SHARDS; i++) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS shard_" + i);
+            }
+        }
+
+        registry.add("post.sharding.enabled", () -> "true");
+        for (int i = 0; i < SHARDS; i++) {
+            String url = POSTGRESQL_CONTAINER.getJdbcUrl();
+            String schemaUrl = url + (url.contains("?") ? "&" : "?") + "currentSchema=shard_" + i;
+            registry.add("post.sharding.shards[" + i + "].url", () -> schemaUrl);
+            registry.add("post.sharding.shards[" + i + "].username", POSTGRESQL_CONTAINER::getUsername);
+            registry.add("post.sharding.shards[" + i + "].password", POSTGRESQL_CONTAINER::getPassword);
+        }
+    }
+
+    @BeforeAll
+    void setUp() {
+        shardRoutingDataSource.getShards().forEach(dataSource -> shards.add(new JdbcTemplate(dataSource)));
+    }
+
+    @Test
+    void testListingReadsHomeAndLegacyShard() throws Exception {
+        long authorId = IntStream.range(8001, 9000)
+                .filter(id -> shardRouter.shardForAuthor(id) == 1)
+                .findFirst()
+                .orElseThrow();
+        long legacyId = 501;
+        long shardedId = ShardIds.compose(1, 501);
+        insertPost(0, legacyId, authorId, "2 days");
+        insertPost(1, shardedId, authorId, "1 day");
+
+        String body = mockMvc.perform(get("/api/v1/posts/author/" + authorId).header("x-user-id", authorId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(body).forEach(post -> ids.add(post.get("id").asLong()));
+        assertEquals(List.of(shardedId, legacyId), ids);
+    }
+
+    @Test
+    void testPaymentNumberIsClaimedOnShardZero() throws Exception {
+        long postId = ShardIds.compose(1, 502);
+        long paymentNumber = 7_000_001;
+        insertPost(1, postId, 8500, "1 hour");
+
+        mockMvc.perform(post("/api/v1/ads/purchases")
+                        .header("x-user-id", 42)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(purchase(paymentNumber, postId, 10)))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/v1/ads/purchases")
+                        .header("x-user-id", 42)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(purchase(paymentNumber, postId, 11)))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, count(0, "ad_purchase_key", paymentNumber));
+        assertEquals(0, count(1, "ad_purchase_key", paymentNumber));
+        assertEquals(1, count(1, "ad_purchase", paymentNumber));
+        assertEquals(0, count(0, "ad_purchase", paymentNumber));
+    }
+
+    private void insertPost(int shard, long id, long authorId, String age) {
+        shards.get(shard).update("""
+                INSERT INTO post (id, content, author_id, published, published_at)
+                VALUES (?, 'post', ?, true, current_timestamp - ?::interval)
+                """, id, authorId, age);
+    }
+
+    private int count(int shard, String table, long paymentNumber) {
+        Integer count = shards.get(shard).queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE payment_number = ?", Integer.class, paymentNumber);
+        return count == null ? 0 : count;
+    }
+
+    private String purchase(long paymentNumber, long postId, int amount) throws Exception {
+        JsonNode request = objectMapper.createObjectNode()
+                .put("paymentNumber", paymentNumber)
+                .put("postId", postId)
+                .put("amount", amount)
+                .put("currency", "USD")
+                .put("appearances", 10)
+                .put("durationDays", 7);
+        return objectMapper.writeValueAsString(request);
+    }
+}
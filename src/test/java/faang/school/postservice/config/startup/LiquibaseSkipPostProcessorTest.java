@@ -0,0 +1,78 @@
+package faang.school.postservice.config.startup;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiquibaseSkipPostProcessorTest {
+    private static final String CHANGE_LOG = "classpath:db/changelog/db.changelog-master.yaml";
+
+    @Mock
+    private ChangelogFingerprint changelogFingerprint;
+    @Mock
+    private SchemaFingerprintStore store;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private SpringLiquibase liquibase;
+
+    private LiquibaseSkipPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        postProcessor = new LiquibaseSkipPostProcessor(changelogFingerprint, store, true);
+    }
+
+    @Test
+    void testSkipsLiquibaseWhenFingerprintMatches() {
+        when(liquibase.getChangeLog()).thenReturn(CHANGE_LOG);
+        when(liquibase.getDataSource()).thenReturn(dataSource);
+        when(changelogFingerprint.of(CHANGE_LOG)).thenReturn("abc");
+        when(store.read(dataSource)).thenReturn(Optional.of("abc"));
+
+        postProcessor.postProcessBeforeInitialization(liquibase, "liquibase");
+        postProcessor.postProcessAfterInitialization(liquibase, "liquibase");
+
+        verify(liquibase).setShouldRun(false);
+        verify(store, never()).write(any(), anyString());
+    }
+
+    @Test
+    void testRunsLiquibaseAndStoresFingerprintWhenChangelogChanged() {
+        when(liquibase.getChangeLog()).thenReturn(CHANGE_LOG);
+        when(liquibase.getDataSource()).thenReturn(dataSource);
+        when(changelogFingerprint.of(CHANGE_LOG)).thenReturn("def");
+        when(store.read(dataSource)).thenReturn(Optional.of("abc"));
+
+        postProcessor.postProcessBeforeInitialization(liquibase, "liquibase");
+        postProcessor.postProcessAfterInitialization(liquibase, "liquibase");
+
+        verify(liquibase, never()).setShouldRun(anyBoolean());
+        verify(store).write(dataSource, "def");
+    }
+
+    @Test
+    void testDoesNothingWhenDisabled() {
+        postProcessor = new LiquibaseSkipPostProcessor(changelogFingerprint, store, false);
+
+        postProcessor.postProcessBeforeInitialization(liquibase, "liquibase");
+        postProcessor.postProcessAfterInitialization(liquibase, "liquibase");
+
+        verifyNoInteractions(changelogFingerprint, store, liquibase);
+    }
+}
@@ -0,0 +1,69 @@
+package faang.school.postservice.config.startup;
+
+import faang.school.postservice.util.BaseContextTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application on an empty database, so the whole changelog has to parse and apply.
+ */
+class SchemaMigrationTest extends BaseContextTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.liquibase.change-log}")
+    private String changeLog;
+
+    @Test
+    void testChangelogIsAppliedAndFingerprintStored() {
+        Integer lastChangeSet = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM databasechangelog WHERE filename LIKE '%post_V006__schema_fingerprint.sql'",
+                Integer.class);
+        String fingerprint = jdbcTemplate.queryForObject(
+                "SELECT fingerprint FROM schema_fingerprint WHERE id = 1", String.class);
+
+        assertEquals(1, lastChangeSet);
+        assertEquals(new ChangelogFingerprint().of(changeLog), fingerprint);
+    }
+
+    @Test
+    void testDropScriptCoversSchema() throws IOException {
+        String dropScript = new ClassPathResource("db/drop.sql").getContentAsString(StandardCharsets.UTF_8);
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_class c
+                WHERE c.relnamespace = current_schema()::regnamespace AND c.relkind IN ('r', 'p') AND NOT c.relispartition
+                """, String.class);
+        List<String> sequences = jdbcTemplate.queryForList(
+                "SELECT sequence_name FROM information_schema.sequences WHERE sequence_schema = current_schema()",
+                String.class);
+
+        assertFalse(tables.isEmpty());
+        tables.forEach(table -> assertTrue(dropScript.contains("DROP TABLE IF EXISTS " + table + ";"),
+                "drop.sql does not drop table " + table));
+        sequences.forEach(sequence -> assertTrue(dropScript.contains("DROP SEQUENCE IF EXISTS " + sequence + ";"),
+                "drop.sql does not drop sequence " + sequence));
+    }
+
+    @Test
+    void testPostHasAtMostOneAd() {
+        Long postId = jdbcTemplate.queryForObject(
+                "INSERT INTO post (content, author_id, published) VALUES ('post', 1, true) RETURNING id", Long.class);
+        String insertAd = """
+                INSERT INTO post_ad (post_id, buyer_id, appearances_left, end_date)
+                VALUES (?, 1, 10, current_timestamp + interval '1 day')
+                """;
+        jdbcTemplate.update(insertAd, postId);
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(insertAd, postId));
+    }
+}
@@ -0,0 +1,44 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.model.Post;
+import faang.school.postservice.util.BaseContextTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static faang.school.postservice.util.QueryCountAssertions.assertSelectCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostRepositoryTest extends BaseContextTest {
+    private static final long AUTHOR_ID = 7001;
+
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testPublishedPostsOfAuthorAreLoadedWithOneSelect() {
+        for (int i = 0; i < 5; i++) {
+            Long postId = jdbcTemplate.queryForObject("""
+                    INSERT INTO post (content, author_id, published, published_at)
+                    VALUES ('post', ?, true, current_timestamp) RETURNING id
+                    """, Long.class, AUTHOR_ID);
+            if (i % 2 == 0) {
+                jdbcTemplate.update("""
+                        INSERT INTO post_ad (post_id, buyer_id, appearances_left, end_date)
+                        VALUES (?, 1, 10, current_timestamp + interval '1 day')
+                        """, postId);
+            }
+        }
+
+        List<Post> posts = assertSelectCount(1,
+                () -> postRepository.findPublishedByAuthorId(AUTHOR_ID, PageRequest.of(0, 20)));
+
+        assertEquals(5, posts.size());
+        assertEquals(3, posts.stream().filter(post -> post.getAd() != null).count());
+    }
+}
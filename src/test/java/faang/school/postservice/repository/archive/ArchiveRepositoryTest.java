@@ -0,0 +1,115 @@
+package faang.school.postservice.repository.archive;
+
+import faang.school.postservice.util.BaseContextTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveRepositoryTest extends BaseContextTest {
+    @Autowired
+    private ArchiveRepository archiveRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testArchivedPostKeepsCommentsLikesAndAlbums() {
+        long postId = insertPost(true, LocalDateTime.now().minusYears(1));
+        long commentId = jdbcTemplate.queryForObject(
+                "INSERT INTO comment (content, author_id, post_id) VALUES ('comment', 2, ?) RETURNING id",
+                Long.class, postId);
+        jdbcTemplate.update("INSERT INTO likes (post_id, user_id) VALUES (?, 3)", postId);
+        jdbcTemplate.update("INSERT INTO likes (comment_id, user_id) VALUES (?, 4)", commentId);
+        long albumId = jdbcTemplate.queryForObject(
+                "INSERT INTO album (title, author_id) VALUES ('album-' || ?, 1) RETURNING id", Long.class, postId);
+        jdbcTemplate.update("INSERT INTO post_album (post_id, album_id) VALUES (?, ?)", postId, albumId);
+
+        int archived = archiveRepository.archiveDeletedPosts(LocalDateTime.now().minusDays(1), 100);
+
+        assertTrue(archived >= 1);
+        assertEquals(0, count("SELECT COUNT(*) FROM post WHERE id = ?", postId));
+        assertEquals(1, count("SELECT COUNT(*) FROM post_archive WHERE id = ?", postId));
+        assertEquals(1, count("SELECT COUNT(*) FROM comment_archive WHERE post_id = ?", postId));
+        assertEquals(2, count("SELECT COUNT(*) FROM archived_post_likes WHERE post_id = ? OR comment_id = ?",
+                postId, commentId));
+        assertEquals(1, count("SELECT COUNT(*) FROM post_album_archive WHERE post_id = ?", postId));
+    }
+
+    @Test
+    void testRecentlyDeletedPostIsNotArchived() {
+        long postId = insertPost(true, LocalDateTime.now());
+
+        archiveRepository.archiveDeletedPosts(LocalDateTime.now().minusDays(1), 100);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM post WHERE id = ?", postId));
+    }
+
+    @Test
+    void testArchivedLikesPartitionSurvivesPostDeletion() {
+        YearMonth month = YearMonth.now().minusYears(5);
+        archiveRepository.createLikesPartition(month);
+        long postId = insertPost(false, LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO likes (post_id, user_id, created_at) VALUES (?, 3, ?)",
+                postId, month.atDay(10).atStartOfDay());
+
+        archiveRepository.archiveLikesPartition(month);
+        jdbcTemplate.update("DELETE FROM post WHERE id = ?", postId);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM likes_archive WHERE post_id = ?", postId));
+    }
+
+    @Test
+    void testLikesPartitionLockedByAnotherInstanceIsSkipped() throws SQLException {
+        YearMonth month = YearMonth.now().minusYears(6);
+        archiveRepository.createLikesPartition(month);
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement lock = other.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+                lock.setString(1, "archive:likes_" + month.getYear() + "_%02d".formatted(month.getMonthValue()));
+                lock.execute();
+            }
+            assertFalse(archiveRepository.archiveLikesPartition(month));
+            other.rollback();
+        }
+
+        assertTrue(archiveRepository.archiveLikesPartition(month));
+        assertFalse(archiveRepository.archiveLikesPartition(month));
+    }
+
+    @Test
+    void testLikeOutsideCreatedPartitionsGoesToDefaultAndMovesToNewPartition() {
+        YearMonth month = YearMonth.now().plusYears(5);
+        long postId = insertPost(false, LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO likes (post_id, user_id, created_at) VALUES (?, 3, ?)",
+                postId, month.atDay(10).atStartOfDay());
+        assertEquals(1, count("SELECT COUNT(*) FROM likes_default WHERE post_id = ?", postId));
+
+        archiveRepository.createLikesPartition(month);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM likes_default WHERE post_id = ?", postId));
+        assertEquals(1, count("SELECT COUNT(*) FROM likes_" + month.getYear() + "_%02d WHERE post_id = ?"
+                .formatted(month.getMonthValue()), postId));
+        assertTrue(archiveRepository.findLikesPartitions().contains(month));
+    }
+
+    private long insertPost(boolean deleted, LocalDateTime updatedAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO post (content, author_id, deleted, updated_at) VALUES ('post', 1, ?, ?) RETURNING id
+                """, Long.class, deleted, updatedAt);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -1,25 +1,41 @@
 package faang.school.postservice.service;
 
-import faang.school.postservice.client.ProjectServiceClient;
-import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.cache.PostCache;
+import faang.school.postservice.client.batch.ProjectLookupBatcher;
+import faang.school.postservice.client.batch.UserLookupBatcher;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardMap;
+import faang.school.postservice.config.sharding.ShardRouter;
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.draft.DraftDto;
+import faang.school.postservice.dto.user.UserDto;
 import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.exception.EntityNotFoundException;
 import faang.school.postservice.mapper.PostMapperImpl;
 import faang.school.postservice.model.Post;
+import faang.school.postservice.service.draft.DraftBuffer;
+import faang.school.postservice.service.etag.ETagged;
 import feign.FeignException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import faang.school.postservice.repository.PostRepository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +47,22 @@ class PostServiceTest {
     @Spy
     private PostMapperImpl postMapper;
     @Mock
-    private UserServiceClient userServiceClient;
+    private UserLookupBatcher userLookupBatcher;
     @Mock
-    private ProjectServiceClient projectServiceClient;
+    private ProjectLookupBatcher projectLookupBatcher;
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(new ShardMap(1, 1));
+    @Mock
+    private DraftBuffer draftBuffer;
+    @Mock
+    private PostCache postCache;
+    @Spy
+    private UserContext userContext = new UserContext();
+
+    @AfterEach
+    void tearDown() {
+        userContext.clear();
+    }
 
     @Test
     void testCreateDraftPostValidData() {
@@ -48,6 +77,7 @@ class PostServiceTest {
                 .authorId(1L)
                 .build();
 
+        when(userLookupBatcher.getUser(1L)).thenReturn(new UserDto(1L, "user", "user@mail.com"));
         when(postRepository.save(post)).thenReturn(post);
 
         PostDto actualDto = postService.createDraftPost(expectedDto);
@@ -77,7 +107,21 @@ class PostServiceTest {
                 .authorId(1L)
                 .build();
 
-        doThrow(FeignException.class).when(userServiceClient).getUser(1L);
+        doThrow(FeignException.class).when(userLookupBatcher).getUser(1L);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> postService.createDraftPost(postDto));
+        assertEquals("User with the specified authorId does not exist", exception.getMessage());
+    }
+
+    @Test
+    void testCreateDraftPostValidateUserMissingFromBatch() {
+        PostDto postDto = PostDto.builder()
+                .content("Content")
+                .authorId(1L)
+                .build();
+
+        when(userLookupBatcher.getUser(1L)).thenReturn(null);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> postService.createDraftPost(postDto));
@@ -91,7 +135,7 @@ class PostServiceTest {
                 .projectId(1L)
                 .build();
 
-        doThrow(FeignException.class).when(projectServiceClient).getProject(1L);
+        doThrow(FeignException.class).when(projectLookupBatcher).getProject(1L);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> postService.createDraftPost(postDto));
@@ -118,6 +162,158 @@ class PostServiceTest {
         assertNotNull(actualDto.getPublishedAt());
     }
 
+    @Test
+    void testPublishPostAppliesBufferedDraft() {
+        long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .build();
+
+        when(postRepository.findById(id)).thenReturn(Optional.of(post));
+        when(draftBuffer.find(id)).thenReturn(Optional.of(new DraftDto(id, "Autosaved", 3, LocalDateTime.now())));
+
+        PostDto actualDto = postService.publishPost(id);
+
+        assertEquals("Autosaved", actualDto.getContent());
+        assertTrue(actualDto.isPublished());
+    }
+
+    @Test
+    void testPublishPostEvictsCacheAfterCommit() {
+        long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .build();
+        when(postRepository.findById(id)).thenReturn(Optional.of(post));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.publishPost(id);
+            verify(postCache, never()).evict(id);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(postCache).evict(id);
+    }
+
+    @Test
+    void testApplyDraftSkipsRevisionAlreadyWritten() {
+        long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .draftVersion(3)
+                .build();
+
+        when(postRepository.findById(id)).thenReturn(Optional.of(post));
+
+        postService.applyDraft(new DraftDto(id, "Autosaved", 3, LocalDateTime.now()));
+
+        assertEquals("Content", post.getContent());
+    }
+
+    @Test
+    void testApplyDraftIgnoresClockOfSavedDraft() {
+        long id = 1L;
+        LocalDateTime savedAt = LocalDateTime.now();
+        Post post = Post.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .draftVersion(2)
+                .updatedAt(savedAt.plusSeconds(1))
+                .build();
+
+        when(postRepository.findById(id)).thenReturn(Optional.of(post));
+
+        postService.applyDraft(new DraftDto(id, "Autosaved", 3, savedAt));
+
+        assertEquals("Autosaved", post.getContent());
+        assertEquals(3, post.getDraftVersion());
+    }
+
+    @Test
+    void testSaveDraftContinuesFromDraftVersion() {
+        long id = 1L;
+        DraftDto draft = new DraftDto(id, "Autosaved", 5, LocalDateTime.now());
+        when(postRepository.findDraftVersionById(id)).thenReturn(Optional.of(4L));
+        when(draftBuffer.save(id, "Autosaved", 4L)).thenReturn(draft);
+
+        assertEquals(draft, postService.saveDraft(id, "Autosaved"));
+    }
+
+    @Test
+    void testSaveDraftOfMissingPost() {
+        long id = 1L;
+        when(postRepository.findDraftVersionById(id)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> postService.saveDraft(id, "Autosaved"));
+        verify(draftBuffer, never()).save(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void testPostETagFollowsServedDraftRevision() {
+        long id = 1L;
+        LocalDateTime savedAt = LocalDateTime.of(2023, 5, 1, 12, 0);
+        when(postCache.get(id)).thenAnswer(invocation -> Optional.of(PostDto.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .updatedAt(savedAt.minusMinutes(1))
+                .build()));
+        when(draftBuffer.find(id)).thenReturn(
+                Optional.of(new DraftDto(id, "First", 1, savedAt)),
+                Optional.of(new DraftDto(id, "First", 1, savedAt)),
+                Optional.of(new DraftDto(id, "Second", 2, savedAt)));
+        userContext.setUserId(1L);
+
+        ETagged<PostDto> first = postService.getPostSnapshot(id);
+        ETagged<PostDto> second = postService.getPostSnapshot(id);
+        ETagged<PostDto> third = postService.getPostSnapshot(id);
+
+        assertTrue(first.eTag().startsWith("W/\""));
+        assertEquals("First", first.body().getContent());
+        assertEquals(first.eTag(), second.eTag());
+        assertEquals("Second", third.body().getContent());
+        assertNotEquals(first.eTag(), third.eTag());
+    }
+
+    @Test
+    void testDraftIsHiddenFromOtherUsers() {
+        long id = 1L;
+        when(postCache.get(id)).thenReturn(Optional.of(PostDto.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .build()));
+        userContext.setUserId(2L);
+
+        assertThrows(EntityNotFoundException.class, () -> postService.getPostSnapshot(id));
+        verify(draftBuffer, never()).find(anyLong());
+    }
+
+    @Test
+    void testDeletedPostIsNotServed() {
+        long id = 1L;
+        when(postCache.get(id)).thenReturn(Optional.of(PostDto.builder()
+                .id(id)
+                .content("Content")
+                .authorId(1L)
+                .published(true)
+                .deleted(true)
+                .build()));
+
+        assertThrows(EntityNotFoundException.class, () -> postService.getPostSnapshot(id));
+    }
+
     @Test
     void testPublishPostValidExist() {
         long id = 1L;
@@ -162,6 +358,7 @@ class PostServiceTest {
                 .authorId(1L)
                 .build();
 
+        when(userLookupBatcher.getUser(1L)).thenReturn(new UserDto(1L, "user", "user@mail.com"));
         when(postRepository.findById(id)).thenReturn(Optional.of(post));
 
         PostDto actualDto = postService.updatePost(postDto);
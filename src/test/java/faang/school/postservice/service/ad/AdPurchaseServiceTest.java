@@ -0,0 +1,221 @@
+package faang.school.postservice.service.ad;
+
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardMap;
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.dto.ad.AdPurchaseDto;
+import faang.school.postservice.dto.ad.AdPurchaseRequest;
+import faang.school.postservice.dto.payment.Currency;
+import faang.school.postservice.exception.ConflictException;
+import faang.school.postservice.exception.EntityNotFoundException;
+import faang.school.postservice.mapper.AdPurchaseMapperImpl;
+import faang.school.postservice.model.Post;
+import faang.school.postservice.model.ad.Ad;
+import faang.school.postservice.model.ad.AdPurchase;
+import faang.school.postservice.model.ad.AdPurchaseKey;
+import faang.school.postservice.model.ad.AdPurchaseStatus;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.repository.ad.AdPurchaseKeyRepository;
+import faang.school.postservice.repository.ad.AdPurchaseRepository;
+import faang.school.postservice.repository.ad.AdRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdPurchaseServiceTest {
+    private static final UUID LEASE_OWNER = UUID.randomUUID();
+
+    @InjectMocks
+    private AdPurchaseService adPurchaseService;
+    @Mock
+    private AdPurchaseRepository adPurchaseRepository;
+    @Mock
+    private AdPurchaseKeyRepository adPurchaseKeyRepository;
+    @Mock
+    private AdRepository adRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Spy
+    private AdPurchaseMapperImpl adPurchaseMapper;
+    @Mock
+    private UserContext userContext;
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(new ShardMap(1, 1));
+
+    private final AdPurchaseRequest request =
+            new AdPurchaseRequest(100L, 1L, BigDecimal.TEN, Currency.USD, 10, 7);
+
+    @Test
+    void testSubmitReturnsExistingPurchaseForSamePaymentNumber() {
+        AdPurchase existing = purchase(AdPurchaseStatus.PROCESSING);
+        when(userContext.hasUserId()).thenReturn(true);
+        when(userContext.getUserId()).thenReturn(2L);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(adPurchaseKeyRepository.findById(100L)).thenReturn(Optional.of(key(2L, BigDecimal.TEN)));
+        when(adPurchaseRepository.findByPaymentNumber(100L)).thenReturn(Optional.of(existing));
+
+        AdPurchaseDto dto = adPurchaseService.submit(request);
+
+        assertEquals(AdPurchaseStatus.PROCESSING, dto.status());
+        assertEquals(100L, dto.paymentNumber());
+    }
+
+    @Test
+    void testGetPurchaseHidesPurchaseOfAnotherBuyer() {
+        when(userContext.hasUserId()).thenReturn(true);
+        when(userContext.getUserId()).thenReturn(3L);
+        when(adPurchaseKeyRepository.findById(100L)).thenReturn(Optional.of(key(2L, BigDecimal.TEN)));
+
+        assertThrows(EntityNotFoundException.class, () -> adPurchaseService.getPurchase(100L));
+        verify(adPurchaseRepository, never()).findByPaymentNumber(anyLong());
+    }
+
+    @Test
+    void testSubmitRejectsPaymentNumberOfAnotherBuyer() {
+        when(userContext.hasUserId()).thenReturn(true);
+        when(userContext.getUserId()).thenReturn(3L);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(adPurchaseKeyRepository.findById(100L)).thenReturn(Optional.of(key(2L, BigDecimal.TEN)));
+
+        assertThrows(ConflictException.class, () -> adPurchaseService.submit(request));
+    }
+
+    @Test
+    void testSubmitRejectsPaymentNumberWithDifferentAmount() {
+        when(userContext.hasUserId()).thenReturn(true);
+        when(userContext.getUserId()).thenReturn(2L);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(adPurchaseKeyRepository.findById(100L)).thenReturn(Optional.of(key(2L, BigDecimal.ONE)));
+
+        assertThrows(ConflictException.class, () -> adPurchaseService.submit(request));
+        verify(adPurchaseRepository, never()).insertIfAbsent(anyLong(), anyLong(), anyLong(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testFailSchedulesRetry() {
+        AdPurchase purchase = purchase(AdPurchaseStatus.PROCESSING);
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase));
+
+        adPurchaseService.fail(5L, LEASE_OWNER, "timeout", Duration.ofSeconds(10));
+
+        assertEquals(AdPurchaseStatus.PENDING, purchase.getStatus());
+        assertNull(purchase.getLockedUntil());
+        assertNull(purchase.getLeaseOwner());
+        assertEquals("timeout", purchase.getLastError());
+    }
+
+    @Test
+    void testFailWithoutRetryIsFinal() {
+        AdPurchase purchase = purchase(AdPurchaseStatus.PROCESSING);
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase));
+
+        adPurchaseService.fail(5L, LEASE_OWNER, "declined", null);
+
+        assertEquals(AdPurchaseStatus.FAILED, purchase.getStatus());
+    }
+
+    @Test
+    void testFailKeepsPaidPurchasePaid() {
+        AdPurchase purchase = purchase(AdPurchaseStatus.PAID);
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase));
+
+        adPurchaseService.fail(5L, LEASE_OWNER, "deadlock", null);
+
+        assertEquals(AdPurchaseStatus.PAID, purchase.getStatus());
+        assertNotNull(purchase.getNextAttemptAt());
+    }
+
+    @Test
+    void testFailIgnoresLostLease() {
+        AdPurchase purchase = purchase(AdPurchaseStatus.PROCESSING);
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase));
+
+        adPurchaseService.fail(5L, UUID.randomUUID(), "declined", null);
+
+        assertEquals(AdPurchaseStatus.PROCESSING, purchase.getStatus());
+    }
+
+    @Test
+    void testCompleteIsIdempotent() {
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase(AdPurchaseStatus.SUCCEEDED)));
+
+        adPurchaseService.complete(5L, LEASE_OWNER);
+
+        verify(adRepository, never()).save(any());
+    }
+
+    @Test
+    void testCompleteIgnoresLostLease() {
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase(AdPurchaseStatus.PAID)));
+
+        adPurchaseService.complete(5L, UUID.randomUUID());
+
+        verify(adRepository, never()).save(any());
+    }
+
+    @Test
+    void testCompleteExtendsRunningAdOfPost() {
+        Post post = Post.builder().id(1L).build();
+        LocalDateTime endDate = LocalDateTime.now().plusDays(2);
+        Ad ad = Ad.builder().id(3L).post(post).buyerId(9L).appearancesLeft(3).endDate(endDate).build();
+        AdPurchase purchase = purchase(AdPurchaseStatus.PAID);
+        when(adPurchaseRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(purchase));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(adRepository.findByPostId(1L)).thenReturn(Optional.of(ad));
+        when(adRepository.save(ad)).thenReturn(ad);
+
+        adPurchaseService.complete(5L, LEASE_OWNER);
+
+        assertEquals(13, ad.getAppearancesLeft());
+        assertEquals(endDate.plusDays(7), ad.getEndDate());
+        assertEquals(9L, ad.getBuyerId());
+        assertEquals(3L, purchase.getAdId());
+        assertEquals(AdPurchaseStatus.SUCCEEDED, purchase.getStatus());
+    }
+
+    private AdPurchaseKey key(long buyerId, BigDecimal amount) {
+        return AdPurchaseKey.builder()
+                .paymentNumber(100L)
+                .postId(1L)
+                .buyerId(buyerId)
+                .amount(amount)
+                .currency(Currency.USD)
+                .appearances(10)
+                .durationDays(7)
+                .build();
+    }
+
+    private AdPurchase purchase(AdPurchaseStatus status) {
+        return AdPurchase.builder()
+                .id(5L)
+                .paymentNumber(100L)
+                .postId(1L)
+                .buyerId(2L)
+                .amount(BigDecimal.TEN)
+                .currency(Currency.USD)
+                .appearances(10)
+                .durationDays(7)
+                .status(status)
+                .attempts(1)
+                .leaseOwner(LEASE_OWNER)
+                .build();
+    }
+}
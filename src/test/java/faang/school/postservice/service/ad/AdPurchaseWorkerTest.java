@@ -0,0 +1,94 @@
+package faang.school.postservice.service.ad;
+
+import faang.school.postservice.client.PaymentServiceClient;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.config.sharding.ShardMap;
+import faang.school.postservice.config.sharding.ShardRouter;
+import faang.school.postservice.dto.payment.Currency;
+import faang.school.postservice.dto.payment.PaymentResponse;
+import faang.school.postservice.dto.payment.PaymentStatus;
+import faang.school.postservice.model.ad.AdPurchase;
+import faang.school.postservice.model.ad.AdPurchaseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdPurchaseWorkerTest {
+    private static final UUID LEASE_OWNER = UUID.randomUUID();
+
+    @Mock
+    private AdPurchaseService adPurchaseService;
+    @Mock
+    private PaymentServiceClient paymentServiceClient;
+    @Mock
+    private UserContext userContext;
+
+    private AdPurchaseWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new AdPurchaseWorker(adPurchaseService, paymentServiceClient,
+                new ShardRouter(new ShardMap(1, 1)), userContext,
+                1, Duration.ofMinutes(1), 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.destroy();
+    }
+
+    @Test
+    void testFailedCompletionKeepsPaymentAndRetries() {
+        when(paymentServiceClient.sendPayment(any())).thenReturn(ResponseEntity.ok(
+                new PaymentResponse(PaymentStatus.SUCCESS, 0, 100L, BigDecimal.TEN, Currency.USD, "ok")));
+        when(adPurchaseService.markPaid(5L, LEASE_OWNER)).thenReturn(true);
+        doThrow(new IllegalStateException("deadlock")).when(adPurchaseService).complete(5L, LEASE_OWNER);
+
+        worker.process(0, purchase(AdPurchaseStatus.PROCESSING, 3));
+
+        verify(paymentServiceClient, times(1)).sendPayment(any());
+        verify(adPurchaseService).fail(eq(5L), eq(LEASE_OWNER), eq("deadlock"), notNull());
+    }
+
+    @Test
+    void testPaidPurchaseIsCompletedWithoutPayment() {
+        worker.process(0, purchase(AdPurchaseStatus.PAID, 2));
+
+        verify(paymentServiceClient, never()).sendPayment(any());
+        verify(adPurchaseService, never()).markPaid(anyLong(), any());
+        verify(adPurchaseService).complete(5L, LEASE_OWNER);
+    }
+
+    private AdPurchase purchase(AdPurchaseStatus status, int attempts) {
+        return AdPurchase.builder()
+                .id(5L)
+                .paymentNumber(100L)
+                .postId(1L)
+                .buyerId(2L)
+                .amount(BigDecimal.TEN)
+                .currency(Currency.USD)
+                .status(status)
+                .attempts(attempts)
+                .leaseOwner(LEASE_OWNER)
+                .build();
+    }
+}
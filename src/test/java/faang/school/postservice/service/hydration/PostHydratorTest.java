@@ -0,0 +1,104 @@
+package faang.school.postservice.service.hydration;
+
+import faang.school.postservice.client.ProjectServiceClient;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.project.ProjectDto;
+import faang.school.postservice.dto.user.UserDto;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostHydratorTest {
+    @Mock
+    private UserServiceClient userServiceClient;
+    @Mock
+    private ProjectServiceClient projectServiceClient;
+
+    private PostHydrator postHydrator;
+
+    @BeforeEach
+    void setUp() {
+        postHydrator = new PostHydrator(userServiceClient, projectServiceClient, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void testPageIsHydratedWithOneCallPerService() {
+        List<PostDto> posts = LongStream.range(0, 50)
+                .mapToObj(i -> i % 2 == 0
+                        ? PostDto.builder().id(i).authorId(i % 5).build()
+                        : PostDto.builder().id(i).projectId(i % 3).build())
+                .toList();
+        when(userServiceClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new UserDto(id, "user" + id, "user" + id + "@mail.com")).toList();
+        });
+        when(projectServiceClient.getProjectsByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::project).toList();
+        });
+
+        postHydrator.hydrate(posts);
+
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        verify(projectServiceClient, times(1)).getProjectsByIds(anyList());
+        posts.forEach(post -> {
+            if (post.getAuthorId() != null) {
+                assertEquals(post.getAuthorId(), post.getAuthor().getId());
+            } else {
+                assertEquals(post.getProjectId().longValue(), post.getProject().getId());
+            }
+        });
+    }
+
+    @Test
+    void testCachedUsersAreNotRequestedAgain() {
+        when(userServiceClient.getUsersByIds(List.of(1L))).thenReturn(List.of(new UserDto(1L, "user", "user@mail.com")));
+
+        postHydrator.hydrate(List.of(PostDto.builder().id(1L).authorId(1L).build()));
+        PostDto post = postHydrator.hydrate(List.of(PostDto.builder().id(2L).authorId(1L).build())).get(0);
+
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        assertEquals("user", post.getAuthor().getUsername());
+    }
+
+    @Test
+    void testMissingUsersAreNotRequestedAgain() {
+        when(userServiceClient.getUsersByIds(List.of(1L))).thenReturn(List.of());
+
+        postHydrator.hydrate(List.of(PostDto.builder().id(1L).authorId(1L).build()));
+        PostDto post = postHydrator.hydrate(List.of(PostDto.builder().id(2L).authorId(1L).build())).get(0);
+
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        assertNull(post.getAuthor());
+    }
+
+    @Test
+    void testDownstreamFailureLeavesPostsUnhydrated() {
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(FeignException.class);
+
+        PostDto post = postHydrator.hydrate(List.of(PostDto.builder().id(1L).authorId(1L).build())).get(0);
+
+        assertNull(post.getAuthor());
+        verifyNoInteractions(projectServiceClient);
+    }
+
+    private ProjectDto project(long id) {
+        ProjectDto project = new ProjectDto();
+        project.setId(id);
+        project.setTitle("project" + id);
+        return project;
+    }
+}
@@ -0,0 +1,51 @@
+package faang.school.postservice.util;
+
+import faang.school.postservice.config.datasource.QueryCount;
+import faang.school.postservice.config.datasource.QueryCountHolder;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts the exact number of SQL statements executed by a service call.
+ * Works in tests extending {@link BaseContextTest}, where the datasource is wrapped by the counting proxy.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, Supplier<T> call) {
+        QueryCount count = QueryCountHolder.start(0);
+        try {
+            T result = call.get();
+            assertThat(count.getTotal())
+                    .as("SQL statements executed (%s)", count)
+                    .isEqualTo(expected);
+            return result;
+        } finally {
+            QueryCountHolder.clear();
+        }
+    }
+
+    public static void assertStatementCount(int expected, Runnable call) {
+        assertStatementCount(expected, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public static <T> T assertSelectCount(int expected, Supplier<T> call) {
+        QueryCount count = QueryCountHolder.start(0);
+        try {
+            T result = call.get();
+            assertThat(count.getSelect())
+                    .as("SELECT statements executed (%s)", count)
+                    .isEqualTo(expected);
+            return result;
+        } finally {
+            QueryCountHolder.clear();
+        }
+    }
+}